@@ -0,0 +1,61 @@
+package com.example.automatedtrafficsystem.ai;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Dedicated, bounded pool for AI endpoint work, so slow model calls never hold servlet threads. When the pool
+// and its queue are full, submit throws RejectedExecutionException (answered as 503) instead of queueing.
+// Deliberately not an Executor bean, which would make Boot back off its applicationTaskExecutor.
+@Component
+public class AiTaskExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public AiTaskExecutor(@Value("${app.ai.executor.pool-size:8}") int poolSize,
+                          @Value("${app.ai.executor.queue-capacity:64}") int queueCapacity) {
+        if (poolSize < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("AI pool size must be at least 1 and queue capacity not negative");
+        }
+        BlockingQueue<Runnable> queue = queueCapacity == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, queue,
+                task -> new Thread(task, "ai-" + threads.incrementAndGet()), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try {
+                return task.get();
+            } finally {
+                MDC.clear();
+            }
+        }, executor);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(20, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.automatedtrafficsystem.ai;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// LRU + TTL cache of chat responses keyed by a SHA-256 of the model and the fully rendered prompt, so any
+// change in the underlying data produces a new key. Optionally written through to a JSON file so
+// answers survive restarts. Meters follow Micrometer's cache conventions (cache.gets, cache.evictions).
+@Slf4j
+@Component
+public class AnalysisResponseCache {
+
+    static final String CACHE_NAME = "ai-analysis";
+
+    private final Clock clock;
+    private final String model;
+    private final Duration ttl;
+    private final int maxEntries;
+    @Nullable
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final LinkedHashMap<String, CachedResponse> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public AnalysisResponseCache(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.ai.openai.chat.options.model:}") String model,
+                                 @Value("${app.ai.cache.ttl:6h}") Duration ttl,
+                                 @Value("${app.ai.cache.max-entries:256}") int maxEntries,
+                                 @Value("${app.ai.cache.file:}") String file) {
+        this(objectMapper, meterRegistry, Clock.systemUTC(), model, ttl, maxEntries,
+                StringUtils.hasText(file) ? Path.of(file) : null);
+    }
+
+    AnalysisResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry, Clock clock, String model,
+                          Duration ttl, int maxEntries, @Nullable Path file) {
+        if (ttl.isNegative() || maxEntries < 0) {
+            throw new IllegalArgumentException("Cache TTL and max entries must not be negative");
+        }
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.model = model;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.file = file;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                boolean evict = size() > AnalysisResponseCache.this.maxEntries;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("AI analysis responses served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("AI analysis requests that had to call the chat model").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("AI analysis responses evicted to stay within max entries").register(meterRegistry);
+        meterRegistry.gauge("cache.size", Tags.of("cache", CACHE_NAME), this, AnalysisResponseCache::size);
+        load();
+    }
+
+    public Optional<String> get(String prompt) {
+        String key = keyOf(prompt);
+        synchronized (entries) {
+            CachedResponse cached = entries.get(key);
+            if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+                hits.increment();
+                return Optional.of(cached.response());
+            }
+            if (cached != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String prompt, String response) {
+        if (maxEntries == 0 || ttl.isZero()) {
+            return;
+        }
+        List<PersistedResponse> snapshot;
+        synchronized (entries) {
+            entries.put(keyOf(prompt), new CachedResponse(response, clock.instant().plus(ttl)));
+            snapshot = file == null ? null : snapshot();
+        }
+        if (snapshot != null) {
+            save(snapshot);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    String keyOf(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private List<PersistedResponse> snapshot() {
+        Instant now = clock.instant();
+        List<PersistedResponse> snapshot = new ArrayList<>(entries.size());
+        entries.forEach((key, cached) -> {
+            if (cached.expiresAt().isAfter(now)) {
+                snapshot.add(new PersistedResponse(key, cached.response(), cached.expiresAt()));
+            }
+        });
+        return snapshot;
+    }
+
+    private void load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            List<PersistedResponse> persisted = objectMapper.readValue(file.toFile(), new TypeReference<>() {
+            });
+            Instant now = clock.instant();
+            synchronized (entries) {
+                persisted.stream()
+                        .filter(entry -> entry.expiresAt().isAfter(now))
+                        .forEach(entry -> entries.put(entry.key(), new CachedResponse(entry.response(), entry.expiresAt())));
+            }
+            log.info("Loaded {} cached AI analysis responses from {}", size(), file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable AI analysis cache file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Written to a sibling temp file and moved into place, so a crash never leaves a truncated cache.
+    private synchronized void save(List<PersistedResponse> snapshot) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist AI analysis cache to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record CachedResponse(String response, Instant expiresAt) {
+    }
+
+    record PersistedResponse(String key, String response, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.automatedtrafficsystem.ai;
+
+import com.example.automatedtrafficsystem.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Wraps blocking chat model calls in a bulkhead (bounded concurrent upstream calls), a circuit breaker and a
+// per-call timeout. A timed-out call keeps its bulkhead permit until the upstream request really ends, so
+// slow upstreams cannot pile up more than max-concurrent-calls threads.
+@Slf4j
+@Component
+public class ChatCallGuard {
+
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public ChatCallGuard(MeterRegistry meterRegistry,
+                         @Value("${app.ai.chat.timeout:20s}") Duration timeout,
+                         @Value("${app.ai.chat.max-concurrent-calls:4}") int maxConcurrentCalls,
+                         @Value("${app.ai.chat.circuit.failure-threshold:5}") int failureThreshold,
+                         @Value("${app.ai.chat.circuit.open-duration:30s}") Duration openDuration) {
+        this(meterRegistry, Clock.systemUTC(), timeout, maxConcurrentCalls, failureThreshold, openDuration);
+    }
+
+    ChatCallGuard(MeterRegistry meterRegistry, Clock clock, Duration timeout, int maxConcurrentCalls,
+                  int failureThreshold, Duration openDuration) {
+        if (timeout.isNegative() || timeout.isZero() || maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("Chat timeout must be positive and max concurrent calls at least 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(clock, failureThreshold, openDuration);
+        meterRegistry.gauge("ai.chat.circuit.open", circuitBreaker,
+                breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1);
+        meterRegistry.gauge("ai.chat.bulkhead.available", bulkhead, Semaphore::availablePermits);
+    }
+
+    public String call(Supplier<String> remoteCall) {
+        if (!bulkhead.tryAcquire()) {
+            count("rejected");
+            throw new ChatUnavailableException("too many concurrent AI requests");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            count("short_circuited");
+            throw new ChatUnavailableException("AI service is failing; circuit is open");
+        }
+
+        Future<String> future;
+        try {
+            future = callExecutor.submit(() -> {
+                try {
+                    return remoteCall.get();
+                } finally {
+                    bulkhead.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure();
+            throw new ChatUnavailableException("AI call executor is shut down", e);
+        }
+
+        try {
+            String result = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            count("success");
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            count("timeout");
+            throw new ChatUnavailableException("AI service did not answer within " + timeout.toMillis() + "ms", e);
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            count("failure");
+            log.warn("Chat model call failed: {}", e.getCause().getMessage());
+            throw new ChatUnavailableException("AI service call failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.onCancelled();
+            throw new ChatUnavailableException("interrupted while waiting for the AI service", e);
+        }
+    }
+
+    // Streaming variant: the permit is held until the stream completes, fails or is cancelled by the subscriber,
+    // and the timeout bounds the wait for each token rather than the whole answer.
+    public Flux<String> stream(Supplier<Flux<String>> remoteStream) {
+        return Flux.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                count("rejected");
+                return Flux.error(new ChatUnavailableException("too many concurrent AI requests"));
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.release();
+                count("short_circuited");
+                return Flux.error(new ChatUnavailableException("AI service is failing; circuit is open"));
+            }
+            return Flux.defer(remoteStream)
+                    .timeout(timeout)
+                    .doOnComplete(() -> {
+                        circuitBreaker.onSuccess();
+                        count("success");
+                    })
+                    .doOnError(e -> {
+                        circuitBreaker.onFailure();
+                        count(e instanceof TimeoutException ? "timeout" : "failure");
+                    })
+                    .doOnCancel(() -> {
+                        circuitBreaker.onCancelled();
+                        count("cancelled");
+                    })
+                    .doFinally(signal -> bulkhead.release())
+                    .onErrorMap(e -> e instanceof TimeoutException
+                            ? new ChatUnavailableException("AI service sent nothing for " + timeout.toMillis() + "ms", e)
+                            : new ChatUnavailableException("AI service call failed", e));
+        });
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("ai.chat.calls", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.automatedtrafficsystem.ai;
+
+// The chat model was not asked or did not answer in time; callers fall back to a local summary.
+public class ChatUnavailableException extends RuntimeException {
+
+    public ChatUnavailableException(String message) {
+        super(message);
+    }
+
+    public ChatUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
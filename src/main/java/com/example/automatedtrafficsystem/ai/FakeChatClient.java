@@ -0,0 +1,117 @@
+package com.example.automatedtrafficsystem.ai;
+
+import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// Offline stand-in for the OpenAI client, for load-testing the AI endpoints. Time to first token is drawn from
+// a log-normal distribution fitted to the configured median and p99; the answer then arrives at a fixed token
+// rate (all at once for call, token by token for stream). A seeded Random keeps runs reproducible, and the
+// answer depends only on the prompt, so caching behaves as it does against the real model.
+public class FakeChatClient implements ChatClient, StreamingChatClient {
+
+    private static final double Z_99 = 2.326;
+    private static final String[] WORDS = {
+            "traffic", "peaks", "around", "the", "morning", "commute", "and", "eases", "after", "evening",
+            "volumes", "on", "weekdays", "exceed", "weekend", "levels", "with", "a", "short", "midday", "lull"
+    };
+
+    private final Duration medianLatency;
+    private final double latencySigma;
+    private final double errorRate;
+    private final Duration tokenInterval;
+    private final int responseTokens;
+    private final Random random;
+
+    public FakeChatClient(Duration medianLatency, Duration p99Latency, double errorRate, double tokensPerSecond,
+                          int responseTokens, long seed) {
+        if (medianLatency.isNegative() || p99Latency.compareTo(medianLatency) < 0) {
+            throw new IllegalArgumentException("Fake latency median must not be negative or exceed the p99");
+        }
+        if (errorRate < 0 || errorRate > 1 || tokensPerSecond <= 0 || responseTokens < 1) {
+            throw new IllegalArgumentException(
+                    "Fake error rate must be within [0, 1], token rate positive and response tokens at least 1");
+        }
+        this.medianLatency = medianLatency;
+        this.latencySigma = medianLatency.isZero()
+                ? 0
+                : Math.log((double) p99Latency.toNanos() / medianLatency.toNanos()) / Z_99;
+        this.errorRate = errorRate;
+        this.tokenInterval = Duration.ofNanos((long) (1_000_000_000L / tokensPerSecond));
+        this.responseTokens = responseTokens;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Duration firstToken = nextLatency();
+        boolean fail = nextFailure();
+        sleep(fail ? firstToken : firstToken.plus(tokenInterval.multipliedBy(responseTokens - 1)));
+        if (fail) {
+            throw simulatedFailure();
+        }
+        return response(String.join("", tokens(prompt)));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Duration firstToken = nextLatency();
+            if (nextFailure()) {
+                return Flux.<ChatResponse>error(simulatedFailure()).delaySubscription(firstToken);
+            }
+            List<String> tokens = tokens(prompt);
+            return Flux.interval(firstToken, tokenInterval)
+                    .take(tokens.size())
+                    .map(i -> response(tokens.get(i.intValue())));
+        });
+    }
+
+    Duration nextLatency() {
+        double gaussian;
+        synchronized (random) {
+            gaussian = random.nextGaussian();
+        }
+        return Duration.ofNanos((long) (medianLatency.toNanos() * Math.exp(latencySigma * gaussian)));
+    }
+
+    private boolean nextFailure() {
+        synchronized (random) {
+            return random.nextDouble() < errorRate;
+        }
+    }
+
+    private List<String> tokens(Prompt prompt) {
+        Random words = new Random(prompt.getContents().hashCode());
+        return IntStream.range(0, responseTokens)
+                .mapToObj(i -> WORDS[words.nextInt(WORDS.length)] + (i == responseTokens - 1 ? "." : " "))
+                .toList();
+    }
+
+    private static ChatResponse response(String content) {
+        return new ChatResponse(List.of(new Generation(content)));
+    }
+
+    private static HttpServerErrorException simulatedFailure() {
+        return new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Simulated AI service failure");
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating AI latency", e);
+        }
+    }
+}
@@ -1,102 +1,341 @@
 package com.example.automatedtrafficsystem.ai;
 
-import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.forecast.BacktestReport;
+import com.example.automatedtrafficsystem.forecast.HoltWintersBacktest;
+import com.example.automatedtrafficsystem.forecast.HoltWintersForecast;
+import com.example.automatedtrafficsystem.forecast.HoltWintersSnapshot;
+import com.example.automatedtrafficsystem.forecast.HoltWintersTrafficForecaster;
+import com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel;
+import com.example.automatedtrafficsystem.forecast.SlotForecast;
+import com.example.automatedtrafficsystem.forecast.TrafficForecastStore;
+import com.example.automatedtrafficsystem.model.TrafficSample;
 import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.service.PartitionedTrafficAggregator;
+import com.example.automatedtrafficsystem.service.TrafficAggregate;
+import com.example.automatedtrafficsystem.service.TrafficDataService;
+import com.example.automatedtrafficsystem.stats.DailyTrafficIndex;
+import com.example.automatedtrafficsystem.stats.TrafficHeatmap;
+import com.example.automatedtrafficsystem.util.LargestTriangleThreeBuckets;
+import com.example.automatedtrafficsystem.util.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.StreamingChatClient;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class TrafficAnalysisService {
 
+    static final int MAX_SERIES_POINTS = 200;
+    // Ranges up to this many days are described by their stored samples, longer ones by daily totals.
+    private static final int SAMPLE_SERIES_MAX_DAYS = 2;
+    private static final int SAMPLE_SERIES_MAX_ROWS = 5_000;
+    private static final String NO_DATA = "No traffic data available for the specified period.";
+    static final int MAX_FORECAST_INTERVALS = 2016;
+    private static final Duration MIN_FORECAST_STEP = Duration.ofMinutes(1);
+    private static final Duration SLOT_DURATION = Duration.ofMinutes(30);
+    private static final Duration MAX_BACKTEST_HORIZON =
+            SLOT_DURATION.multipliedBy(HoltWintersTrafficForecaster.MAX_HORIZON_SLOTS);
+    private static final int BACKTEST_CHUNK_SIZE = 5_000;
+    private static final int MAX_BACKTEST_SAMPLES = 1_000_000;
+
     @Nullable
     private final ChatClient chatClient;
+    @Nullable
+    private final StreamingChatClient streamingChatClient;
     private final TrafficDataRepository trafficDataRepository;
-    
-    @Value("classpath:/prompts/traffic-analysis-prompt.st")
-    private Resource trafficAnalysisPrompt;
-    
+    private final TrafficDataService trafficDataService;
+    private final DailyTrafficIndex dailyTrafficIndex;
+    private final PartitionedTrafficAggregator partitionedTrafficAggregator;
+    private final SeasonalTrafficModel seasonalTrafficModel;
+    private final HoltWintersTrafficForecaster holtWintersTrafficForecaster;
+    private final TrafficForecastStore trafficForecastStore;
+    private final AnalysisResponseCache analysisResponseCache;
+    private final ChatCallGuard chatCallGuard;
+    private final AiTaskExecutor aiTaskExecutor;
+    private final PromptTemplate analysisPromptTemplate;
+    private final int seriesPoints;
+    private final SingleFlight<AnalysisRequest, String> analysisFlights = new SingleFlight<>();
+    private final SingleFlight<PredictionRequest, TrafficPrediction> predictionFlights = new SingleFlight<>();
+
     public TrafficAnalysisService(
             @Nullable ChatClient chatClient,
-            TrafficDataRepository trafficDataRepository) {
+            @Nullable StreamingChatClient streamingChatClient,
+            TrafficDataRepository trafficDataRepository,
+            TrafficDataService trafficDataService,
+            DailyTrafficIndex dailyTrafficIndex,
+            PartitionedTrafficAggregator partitionedTrafficAggregator,
+            SeasonalTrafficModel seasonalTrafficModel,
+            HoltWintersTrafficForecaster holtWintersTrafficForecaster,
+            TrafficForecastStore trafficForecastStore,
+            AnalysisResponseCache analysisResponseCache,
+            ChatCallGuard chatCallGuard,
+            AiTaskExecutor aiTaskExecutor,
+            @Value("classpath:/prompts/traffic-analysis-prompt.st") Resource trafficAnalysisPrompt,
+            @Value("${app.ai.prompt.series-points:48}") int seriesPoints) {
+        if (seriesPoints < 3 || seriesPoints > MAX_SERIES_POINTS) {
+            throw new IllegalArgumentException("Prompt series points must be between 3 and " + MAX_SERIES_POINTS);
+        }
         this.chatClient = chatClient;
+        this.streamingChatClient = streamingChatClient;
         this.trafficDataRepository = trafficDataRepository;
+        this.trafficDataService = trafficDataService;
+        this.dailyTrafficIndex = dailyTrafficIndex;
+        this.partitionedTrafficAggregator = partitionedTrafficAggregator;
+        this.seasonalTrafficModel = seasonalTrafficModel;
+        this.holtWintersTrafficForecaster = holtWintersTrafficForecaster;
+        this.trafficForecastStore = trafficForecastStore;
+        this.analysisResponseCache = analysisResponseCache;
+        this.chatCallGuard = chatCallGuard;
+        this.aiTaskExecutor = aiTaskExecutor;
+        this.analysisPromptTemplate = new PromptTemplate(trafficAnalysisPrompt);
+        this.seriesPoints = seriesPoints;
+    }
+
+    // Runs on the bounded AI pool rather than the servlet thread. Concurrent identical requests share one
+    // computation (and one chat call) instead of each running its own.
+    public CompletableFuture<String> analyzeTrafficPatterns(LocalDate startDate, LocalDate endDate) {
+        return analysisFlights.executeAsync(new AnalysisRequest(startDate, endDate),
+                () -> aiTaskExecutor.submit(() -> analyze(startDate, endDate)));
+    }
+
+    public TrafficPrediction predictTraffic(LocalDateTime startTime, LocalDateTime endTime) {
+        return predictionFlights.execute(new PredictionRequest(startTime, endTime),
+                () -> predict(startTime, endTime));
     }
 
-    public String analyzeTrafficPatterns(LocalDate startDate, LocalDate endDate) {
-        List<TrafficData> trafficData = trafficDataRepository
-                .findByTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(
-                        startDate.atStartOfDay(),
-                        endDate.plusDays(1).atStartOfDay()
-                );
+    // Same prompt, cache and fallbacks as analyzeTrafficPatterns, but forwards the model's tokens as they arrive.
+    // The prompt is built on the AI pool; cancelling the returned Flux cancels the upstream model request.
+    public Flux<String> streamTrafficAnalysis(LocalDate startDate, LocalDate endDate) {
+        return Mono.fromFuture(() -> aiTaskExecutor.submit(() -> prepareAnalysis(startDate, endDate)))
+                .flatMapMany(prepared -> prepared.map(this::streamAnalysis).orElseGet(() -> Flux.just(NO_DATA)));
+    }
 
-        if (trafficData.isEmpty()) {
-            return "No traffic data available for the specified period.";
+    private String analyze(LocalDate startDate, LocalDate endDate) {
+        Optional<PreparedAnalysis> preparedAnalysis = prepareAnalysis(startDate, endDate);
+        if (preparedAnalysis.isEmpty()) {
+            return NO_DATA;
         }
+        PreparedAnalysis prepared = preparedAnalysis.get();
 
-        Map<String, Object> context = createAnalysisContext(trafficData, startDate, endDate);
+        Optional<String> cached = analysisResponseCache.get(prepared.promptContents());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
         if (chatClient == null) {
-            return "AI analysis is currently unavailable because the OpenAI client is not configured.";
+            return statisticalSummary(prepared.context(), "the OpenAI client is not configured");
         }
 
         try {
-            PromptTemplate promptTemplate = new PromptTemplate(trafficAnalysisPrompt);
-            Prompt prompt = promptTemplate.create(context);
-            return chatClient.call(prompt).getResult().getOutput().getContent();
-        } catch (Exception e) {
-            log.error("Error analyzing traffic patterns: {}", e.getMessage(), e);
-            return "Unable to analyze traffic patterns at this time. Please try again later.";
+            String analysis = chatCallGuard.call(
+                    () -> chatClient.call(prepared.prompt()).getResult().getOutput().getContent());
+            analysisResponseCache.put(prepared.promptContents(), analysis);
+            return analysis;
+        } catch (ChatUnavailableException e) {
+            log.warn("Falling back to a statistical summary: {}", e.getMessage());
+            return statisticalSummary(prepared.context(), e.getMessage());
         }
     }
 
-    public TrafficPrediction predictTraffic(LocalDateTime startTime, LocalDateTime endTime) {
-        List<TrafficData> historicalData = trafficDataRepository
-                .findByTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(
-                        startTime.minusDays(30),
-                        startTime
-                );
+    private Flux<String> streamAnalysis(PreparedAnalysis prepared) {
+        Optional<String> cached = analysisResponseCache.get(prepared.promptContents());
+        if (cached.isPresent()) {
+            return Flux.just(cached.get());
+        }
+
+        if (streamingChatClient == null) {
+            return Flux.just(statisticalSummary(prepared.context(), "the OpenAI client is not configured"));
+        }
+
+        // Only a completed stream is cached; once tokens have been sent a failure is passed on, since the
+        // client already holds part of an answer.
+        StringBuilder analysis = new StringBuilder();
+        return chatCallGuard.stream(() -> streamingChatClient.stream(prepared.prompt())
+                        .mapNotNull(response -> response.getResult() == null
+                                ? null
+                                : response.getResult().getOutput().getContent()))
+                .doOnNext(analysis::append)
+                .doOnComplete(() -> analysisResponseCache.put(prepared.promptContents(), analysis.toString()))
+                .onErrorResume(ChatUnavailableException.class, e -> {
+                    if (!analysis.isEmpty()) {
+                        return Flux.error(e);
+                    }
+                    log.warn("Falling back to a statistical summary: {}", e.getMessage());
+                    return Flux.just(statisticalSummary(prepared.context(), e.getMessage()));
+                });
+    }
+
+    // The daily totals, which include compacted hours, decide whether there is data and back the headline
+    // total; the aggregate behind the record count and average reads the rollups too. So the prompt agrees with
+    // its own series however much of the range has been compacted.
+    private Optional<PreparedAnalysis> prepareAnalysis(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Long> dailyTotals = trafficDataService.getDailyCarCounts(startDate, endDate);
+        if (dailyTotals.isEmpty()) {
+            return Optional.empty();
+        }
+        TrafficAggregate aggregate = partitionedTrafficAggregator.aggregate(
+                startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay()
+        );
+
+        Map<String, Object> context = createAnalysisContext(aggregate, dailyTotals, startDate, endDate);
+        Prompt prompt;
+        // The template is parsed once, but rendering sets attributes on it, so renders take turns.
+        synchronized (analysisPromptTemplate) {
+            prompt = analysisPromptTemplate.create(context);
+        }
+        return Optional.of(new PreparedAnalysis(context, prompt, prompt.getContents()));
+    }
+
+    // Holt-Winters once it has a week of history, otherwise the hour-of-week slot averages.
+    private TrafficPrediction predict(LocalDateTime startTime, LocalDateTime endTime) {
+        return predictInterval(startTime, endTime)
+                .orElseThrow(() -> new IllegalStateException("Insufficient historical data for prediction"));
+    }
+
+    // Consecutive [start + i*step, start + (i+1)*step) predictions from the in-memory models; intervals
+    // without history come back as UNKNOWN rather than failing the whole series.
+    public List<TrafficPrediction> forecastTraffic(LocalDateTime startTime, Duration horizon, Duration step) {
+        if (horizon.isNegative() || horizon.isZero() || step.compareTo(MIN_FORECAST_STEP) < 0) {
+            throw new IllegalArgumentException("Horizon must be positive and step at least one minute");
+        }
+        if (step.compareTo(horizon) > 0) {
+            throw new IllegalArgumentException("Step must not exceed the horizon");
+        }
+        long intervals = horizon.dividedBy(step);
+        if (intervals > MAX_FORECAST_INTERVALS) {
+            throw new IllegalArgumentException("Forecast is limited to " + MAX_FORECAST_INTERVALS + " intervals");
+        }
 
-        if (historicalData.isEmpty()) {
+        // One Holt-Winters snapshot answers every interval it reaches; the rest use the slot averages.
+        LocalDateTime endTime = startTime.plus(step.multipliedBy(intervals));
+        Optional<HoltWintersSnapshot> holtWinters = trafficForecastStore.snapshotCovering(startTime, endTime)
+                .or(() -> holtWintersTrafficForecaster.snapshot(startTime, endTime));
+        List<TrafficPrediction> predictions = new ArrayList<>((int) intervals);
+        boolean anyData = false;
+        for (int i = 0; i < intervals; i++) {
+            LocalDateTime intervalStart = startTime.plus(step.multipliedBy(i));
+            LocalDateTime intervalEnd = intervalStart.plus(step);
+            Optional<TrafficPrediction> prediction = holtWinters
+                    .flatMap(snapshot -> snapshot.forecast(intervalStart, intervalEnd))
+                    .map(this::toPrediction)
+                    .or(() -> seasonalPrediction(intervalStart, intervalEnd));
+            anyData |= prediction.isPresent();
+            predictions.add(prediction.orElseGet(() -> unknownPrediction(intervalStart, intervalEnd)));
+        }
+        if (!anyData) {
             throw new IllegalStateException("Insufficient historical data for prediction");
         }
+        return predictions;
+    }
 
-        double avgCars = historicalData.stream()
-                .mapToInt(TrafficData::getCarCount)
-                .average()
-                .orElse(0);
-                
-        int maxCars = historicalData.stream()
-                .mapToInt(TrafficData::getCarCount)
-                .max()
-                .orElse(0);
-        
+    // Replays stored history in [from, to) through a fresh Holt-Winters model with the configured parameters
+    // and scores horizon-ahead forecasts; see HoltWintersBacktest.
+    public BacktestReport backtestForecast(LocalDateTime from, LocalDateTime to, Duration horizon) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("From must be before to");
+        }
+        if (horizon.compareTo(SLOT_DURATION) < 0 || horizon.compareTo(MAX_BACKTEST_HORIZON) > 0
+                || !horizon.equals(SLOT_DURATION.multipliedBy(horizon.dividedBy(SLOT_DURATION)))) {
+            throw new IllegalArgumentException(
+                    "Backtest horizon must be a whole number of half-hour slots up to " + MAX_BACKTEST_HORIZON);
+        }
+
+        List<TrafficSample> history = new ArrayList<>();
+        LocalDateTime after = from.minusNanos(1);
+        while (true) {
+            List<TrafficSample> chunk = trafficDataRepository.findSamplesAfter(after,
+                    PageRequest.of(0, BACKTEST_CHUNK_SIZE));
+            chunk.stream().filter(sample -> sample.timestamp().isBefore(to)).forEach(history::add);
+            if (history.size() > MAX_BACKTEST_SAMPLES) {
+                throw new IllegalArgumentException("Backtest is limited to " + MAX_BACKTEST_SAMPLES + " samples");
+            }
+            if (chunk.size() < BACKTEST_CHUNK_SIZE || !chunk.get(chunk.size() - 1).timestamp().isBefore(to)) {
+                break;
+            }
+            after = chunk.get(chunk.size() - 1).timestamp();
+        }
+
+        BacktestReport report = HoltWintersBacktest.run(history, holtWintersTrafficForecaster.parameters(),
+                (int) horizon.dividedBy(SLOT_DURATION), holtWintersTrafficForecaster.intervalZ());
+        log.info("Backtested {} slots with horizon {}: MAE {}, coverage {}, fit {} slots/s",
+                report.slots(), horizon, report.mae(), report.intervalCoverage(), Math.round(report.fitSlotsPerSecond()));
+        return report;
+    }
+
+    // Precomputed forecasts first; windows outside them are forecast on demand, up to MAX_HORIZON_SLOTS ahead.
+    private Optional<TrafficPrediction> predictInterval(LocalDateTime startTime, LocalDateTime endTime) {
+        Optional<HoltWintersForecast> holtWinters = trafficForecastStore.forecast(startTime, endTime)
+                .or(() -> holtWintersTrafficForecaster.forecast(startTime, endTime));
+        if (holtWinters.isPresent()) {
+            return holtWinters.map(this::toPrediction);
+        }
+        return seasonalPrediction(startTime, endTime);
+    }
+
+    private Optional<TrafficPrediction> seasonalPrediction(LocalDateTime startTime, LocalDateTime endTime) {
+        SlotForecast forecast = seasonalTrafficModel.forecast(startTime, endTime);
+        return forecast.hasData() ? Optional.of(toPrediction(forecast)) : Optional.empty();
+    }
+
+    private TrafficPrediction toPrediction(HoltWintersForecast forecast) {
+        return basePrediction(forecast.start(), forecast.end(), forecast.meanPerSlot(), forecast.expectedVolume())
+                .confidenceScore(forecast.confidence())
+                .expectedVolumeLower(toVolume(forecast.lowerBound()))
+                .expectedVolumeUpper(toVolume(forecast.upperBound()))
+                .details(String.format("Holt-Winters forecast over %d half-hour slots fitted on %d observations; "
+                                + "prediction interval %d-%d cars; busiest slot %s expects %.1f cars",
+                        forecast.slots(), forecast.observations(), toVolume(forecast.lowerBound()),
+                        toVolume(forecast.upperBound()), SeasonalTrafficModel.slotLabel(forecast.peakSlot()),
+                        forecast.peakSlotMean()))
+                .build();
+    }
+
+    private TrafficPrediction toPrediction(SlotForecast forecast) {
+        return basePrediction(forecast.start(), forecast.end(), forecast.meanPerSlot(), forecast.expectedVolume())
+                .confidenceScore(forecast.confidence())
+                .details(String.format("Seasonal estimate over %d half-hour slots (%d with history) from %d observations; "
+                                + "busiest slot %s averages %.1f cars",
+                        forecast.slots(), forecast.coveredSlots(), forecast.observations(),
+                        SeasonalTrafficModel.slotLabel(forecast.peakSlot()), forecast.peakSlotMean()))
+                .build();
+    }
+
+    private TrafficPrediction.TrafficPredictionBuilder basePrediction(LocalDateTime start, LocalDateTime end,
+                                                                      double avgCars, double expectedVolume) {
         String trafficCondition;
-        double confidence;
-        
         if (avgCars < 10) {
             trafficCondition = "LOW";
-            confidence = 0.85;
         } else if (avgCars < 30) {
             trafficCondition = "MODERATE";
-            confidence = 0.75;
         } else {
             trafficCondition = "HIGH";
-            confidence = 0.80;
         }
         
         int baseTravelTime = 15;
@@ -104,60 +343,126 @@ public class TrafficAnalysisService {
         int expectedTravelTime = (int) (baseTravelTime * trafficFactor);
 
         return TrafficPrediction.builder()
-                .startTime(startTime)
-                .endTime(endTime)
+                .startTime(start)
+                .endTime(end)
                 .trafficCondition(trafficCondition)
-                .confidenceScore(confidence)
                 .averageSpeed(calculateAverageSpeed(avgCars))
-                .expectedVolume((int) (avgCars * 0.8))
-                .expectedTravelTimeMinutes(expectedTravelTime)
-                .details(String.format("Prediction based on %d historical data points", historicalData.size()))
+                .expectedVolume(toVolume(expectedVolume))
+                .expectedTravelTimeMinutes(expectedTravelTime);
+    }
+
+    private static int toVolume(double cars) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(cars));
+    }
+
+    private static TrafficPrediction unknownPrediction(LocalDateTime start, LocalDateTime end) {
+        return TrafficPrediction.builder()
+                .startTime(start)
+                .endTime(end)
+                .trafficCondition("UNKNOWN")
+                .confidenceScore(0.0)
+                .details("No historical data for this time of week")
                 .build();
     }
     
+    private static String statisticalSummary(Map<String, Object> context, String reason) {
+        return String.format("""
+                AI analysis is unavailable (%s); showing a statistical summary instead.
+
+                Time Period: %s to %s
+                Total Records: %s
+                Total Cars: %s
+                Average Cars per 30-minute interval: %s
+
+                Daily Averages:
+                %s
+
+                Hourly Averages:
+                %s""",
+                reason, context.get("startDate"), context.get("endDate"), context.get("totalRecords"),
+                context.get("totalCars"), context.get("averageCarsPerInterval"),
+                context.get("dailyAverages"), context.get("hourlyAverages"));
+    }
+
     private double calculateAverageSpeed(double avgCars) {
         return Math.max(10, 60 - (avgCars * 0.5));
     }
 
-    private Map<String, Object> createAnalysisContext(List<TrafficData> trafficData, LocalDate startDate, LocalDate endDate) {
+    private Map<String, Object> createAnalysisContext(TrafficAggregate aggregate, Map<LocalDate, Long> dailyTotals,
+                                                      LocalDate startDate, LocalDate endDate) {
         Map<String, Object> context = new HashMap<>();
 
-        int totalCars = trafficData.stream().mapToInt(TrafficData::getCarCount).sum();
-        double averageCars = trafficData.stream().mapToInt(TrafficData::getCarCount).average().orElse(0);
+        TrafficHeatmap heatmap = dailyTrafficIndex.getHeatmap(startDate, endDate);
 
-        String sampleDataStr = trafficData.stream()
-                .limit(5)
-                .map(data -> String.format("- %s: %d cars", 
-                    data.getTimestamp().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), 
-                    data.getCarCount()))
+        String dailyAveragesStr = Stream.of(DayOfWeek.values())
+                .filter(heatmap::hasDataForDay)
+                .map(day -> String.format("- %s: %.1f cars", day.name(), heatmap.averageForDay(day)))
                 .collect(Collectors.joining("\n"));
 
-        String dailyAveragesStr = trafficData.stream()
-                .collect(Collectors.groupingBy(
-                        data -> data.getTimestamp().getDayOfWeek().name(),
-                        Collectors.averagingInt(TrafficData::getCarCount)))
-                .entrySet().stream()
-                .map(e -> String.format("- %s: %.1f cars", e.getKey(), e.getValue()))
-                .collect(Collectors.joining("\n"));
-
-        String hourlyAveragesStr = trafficData.stream()
-                .collect(Collectors.groupingBy(
-                        data -> data.getTimestamp().getHour(),
-                        Collectors.averagingInt(TrafficData::getCarCount)))
-                .entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(e -> String.format("- %02d:00 - %.1f cars", e.getKey(), e.getValue()))
+        String hourlyAveragesStr = IntStream.range(0, 24)
+                .filter(heatmap::hasDataForHour)
+                .mapToObj(hour -> String.format("- %02d:00 - %.1f cars", hour, heatmap.averageForHour(hour)))
                 .collect(Collectors.joining("\n"));
 
         context.put("startDate", startDate);
         context.put("endDate", endDate);
-        context.put("totalRecords", trafficData.size());
-        context.put("totalCars", totalCars);
-        context.put("averageCarsPerInterval", String.format("%.1f", averageCars));
-        context.put("sampleData", sampleDataStr);
+        context.put("totalRecords", aggregate.getRecordCount());
+        context.put("totalCars", dailyTotals.values().stream().mapToLong(Long::longValue).sum());
+        context.put("averageCarsPerInterval", String.format("%.1f", aggregate.getAverageCars()));
+        Series series = representativeSeries(startDate, endDate, dailyTotals);
+        context.put("seriesResolution", series.resolution());
+        context.put("seriesData", series.data());
         context.put("dailyAverages", dailyAveragesStr);
         context.put("hourlyAverages", hourlyAveragesStr);
         
         return context;
     }
+
+    private static boolean isSampleSeries(LocalDate startDate, LocalDate endDate) {
+        return ChronoUnit.DAYS.between(startDate, endDate) < SAMPLE_SERIES_MAX_DAYS;
+    }
+
+    // Short ranges use their stored samples and longer ones (or short ones already compacted) the daily totals,
+    // and either is cut down to seriesPoints with LTTB, so the prompt stays the same size however long the range
+    // while keeping its peaks and dips.
+    private Series representativeSeries(LocalDate startDate, LocalDate endDate, Map<LocalDate, Long> dailyTotals) {
+        List<TrafficSample> samples = isSampleSeries(startDate, endDate)
+                ? trafficDataRepository.findSamplesBetween(startDate.atStartOfDay(),
+                        endDate.plusDays(1).atStartOfDay(), PageRequest.of(0, SAMPLE_SERIES_MAX_ROWS))
+                : List.of();
+        List<String> labels;
+        double[] x;
+        double[] y;
+        String resolution;
+        if (!samples.isEmpty()) {
+            labels = samples.stream()
+                    .map(sample -> sample.timestamp().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                    .toList();
+            x = samples.stream().mapToDouble(sample -> sample.timestamp().toEpochSecond(ZoneOffset.UTC)).toArray();
+            y = samples.stream().mapToDouble(TrafficSample::carCount).toArray();
+            resolution = "cars per record";
+        } else {
+            labels = dailyTotals.keySet().stream().map(LocalDate::toString).toList();
+            x = dailyTotals.keySet().stream().mapToDouble(LocalDate::toEpochDay).toArray();
+            y = dailyTotals.values().stream().mapToDouble(Long::doubleValue).toArray();
+            resolution = "cars per day";
+        }
+
+        String data = IntStream.of(LargestTriangleThreeBuckets.select(x, y, seriesPoints))
+                .mapToObj(i -> String.format("- %s: %d cars", labels.get(i), (long) y[i]))
+                .collect(Collectors.joining("\n"));
+        return new Series(resolution, data);
+    }
+
+    private record Series(String resolution, String data) {
+    }
+
+    private record PreparedAnalysis(Map<String, Object> context, Prompt prompt, String promptContents) {
+    }
+
+    private record AnalysisRequest(LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record PredictionRequest(LocalDateTime startTime, LocalDateTime endTime) {
+    }
 }
@@ -20,6 +20,9 @@ public class TrafficPrediction {
     private String details;
     private Double averageSpeed;
     private Integer expectedVolume;
+    // Prediction interval for expectedVolume; absent for slot-average estimates.
+    private Integer expectedVolumeLower;
+    private Integer expectedVolumeUpper;
     private String potentialIncidents;
     private String alternativeRoutes;
     private Integer expectedTravelTimeMinutes;
@@ -0,0 +1,20 @@
+package com.example.automatedtrafficsystem.config;
+
+import com.example.automatedtrafficsystem.service.TrafficDataVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class ConditionalRequestConfig implements WebMvcConfigurer {
+
+    private final TrafficDataVersion trafficDataVersion;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DataVersionETagInterceptor(trafficDataVersion))
+                .addPathPatterns("/api/reports", "/api/v*/traffic/daily", "/api/v*/traffic/stats");
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.automatedtrafficsystem.config;
 
 import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficSample;
 import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
@@ -16,6 +19,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @Profile("dev")
@@ -26,6 +31,7 @@ public class DataInitializer {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
     private final TrafficDataRepository trafficDataRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Bean
     public CommandLineRunner initSampleData() {
@@ -37,6 +43,7 @@ public class DataInitializer {
                     String content = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
                     
                     String[] lines = content.split("\r?\n");
+                    List<TrafficSample> seeded = new ArrayList<>();
                     for (String line : lines) {
                         if (line.trim().isEmpty()) continue;
                         
@@ -46,9 +53,11 @@ public class DataInitializer {
                             int carCount = Integer.parseInt(parts[1]);
                             
                             TrafficData data = new TrafficData(timestamp, carCount);
-                            trafficDataRepository.save(data);
+                            seeded.add(TrafficSample.of(trafficDataRepository.save(data)));
                         }
                     }
+                    // Runners start after the startup replay, so the seeded history is handed to the indexes here.
+                    eventPublisher.publishEvent(TrafficDataIngestedEvent.replay(seeded));
                     log.info("Loaded {} traffic data records", trafficDataRepository.count());
                 } catch (IOException e) {
                     log.warn("Could not load sample data: {}", e.getMessage());
@@ -0,0 +1,34 @@
+package com.example.automatedtrafficsystem.config;
+
+import com.example.automatedtrafficsystem.service.TrafficDataVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Objects;
+
+// Answers conditional GETs on data-derived endpoints from the data version alone, before the handler
+// (and any repository query) runs. Query string and Accept header are folded into the tag so each
+// representation revalidates independently.
+@RequiredArgsConstructor
+public class DataVersionETagInterceptor implements HandlerInterceptor {
+
+    private final TrafficDataVersion trafficDataVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        int variant = Objects.hash(request.getQueryString(), request.getHeader(HttpHeaders.ACCEPT));
+        String etag = "W/\"" + trafficDataVersion.tag() + "-" + Integer.toHexString(variant) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
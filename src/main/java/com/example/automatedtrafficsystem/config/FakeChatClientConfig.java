@@ -0,0 +1,32 @@
+package com.example.automatedtrafficsystem.config;
+
+import com.example.automatedtrafficsystem.ai.FakeChatClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+// Replaces the OpenAI client with FakeChatClient for offline load tests of the AI endpoints
+// (run with --spring.profiles.active=dev,fake-ai; settings under app.ai.fake).
+@Slf4j
+@Configuration
+@Profile(FakeChatClientConfig.PROFILE)
+public class FakeChatClientConfig {
+
+    static final String PROFILE = "fake-ai";
+
+    @Bean
+    public FakeChatClient chatClient(@Value("${app.ai.fake.latency.median:800ms}") Duration medianLatency,
+                                     @Value("${app.ai.fake.latency.p99:3s}") Duration p99Latency,
+                                     @Value("${app.ai.fake.error-rate:0.0}") double errorRate,
+                                     @Value("${app.ai.fake.tokens-per-second:50}") double tokensPerSecond,
+                                     @Value("${app.ai.fake.response-tokens:200}") int responseTokens,
+                                     @Value("${app.ai.fake.seed:42}") long seed) {
+        log.warn("Using the fake chat client (median {}, p99 {}, error rate {}, {} tokens at {}/s); "
+                + "AI responses are simulated", medianLatency, p99Latency, errorRate, responseTokens, tokensPerSecond);
+        return new FakeChatClient(medianLatency, p99Latency, errorRate, tokensPerSecond, responseTokens, seed);
+    }
+}
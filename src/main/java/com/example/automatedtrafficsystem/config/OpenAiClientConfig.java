@@ -1,6 +1,5 @@
 package com.example.automatedtrafficsystem.config;
 
-import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.openai.OpenAiChatClient;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,8 +7,10 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 @Configuration
+@Profile("!" + FakeChatClientConfig.PROFILE)
 public class OpenAiClientConfig {
 
     @Bean
@@ -18,9 +19,10 @@ public class OpenAiClientConfig {
         return new OpenAiApi(apiKey);
     }
 
+    // Exposed as the concrete type so the same client also satisfies StreamingChatClient.
     @Bean
     @ConditionalOnBean(OpenAiApi.class)
-    public ChatClient chatClient(OpenAiApi openAiApi) {
+    public OpenAiChatClient chatClient(OpenAiApi openAiApi) {
         return new OpenAiChatClient(openAiApi);
     }
 }
@@ -0,0 +1,99 @@
+package com.example.automatedtrafficsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Splits the single spring.datasource into a primary and a read replica pool when
+// app.datasource.replica.enabled=true. Flyway and all writes keep using the primary.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    // Replay lag of a PostgreSQL hot standby in seconds; zero once it has replayed everything it received,
+    // so an idle primary does not make the replica look stale.
+    static final String POSTGRESQL_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties primaryProperties,
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties replicaProperties,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        if (!StringUtils.hasText(replicaProperties.getUrl())) {
+            throw new IllegalStateException("app.datasource.replica.url must be set when the read replica is enabled");
+        }
+
+        HikariDataSource primary = createPool(primaryProperties, "primary");
+        bindAndInstrument(primary, "spring.datasource.hikari", environment, meterRegistry);
+        HikariDataSource replica = createPool(replicaProperties, "replica");
+        replica.setReadOnly(true);
+        // An unreachable replica must not stop startup; reads fall back to the primary until it recovers.
+        replica.setInitializationFailTimeout(-1);
+        bindAndInstrument(replica, "app.datasource.replica.hikari", environment, meterRegistry);
+        return new ReadWriteRoutingDataSource(primary, replica, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReadWriteRoutingDataSource routingDataSource,
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties replicaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery) {
+        if (!StringUtils.hasText(lagQuery) && replicaProperties.getUrl().startsWith("jdbc:postgresql:")) {
+            lagQuery = POSTGRESQL_LAG_QUERY;
+        }
+        return new ReplicaLagMonitor(routingDataSource, routingDataSource.getResolvedDataSources()
+                .get(ReadWriteRoutingDataSource.Route.REPLICA), meterRegistry, maxLag, lagQuery);
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, String poolName) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(poolName);
+        return pool;
+    }
+
+    private static void bindAndInstrument(HikariDataSource pool, String hikariPrefix,
+                                          Environment environment, MeterRegistry meterRegistry) {
+        Binder.get(environment).bind(hikariPrefix, Bindable.ofInstance(pool));
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+}
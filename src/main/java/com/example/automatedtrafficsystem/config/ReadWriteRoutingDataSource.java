@@ -0,0 +1,124 @@
+package com.example.automatedtrafficsystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Sends connections for read-only transactions to the replica pool and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is bound only after the transaction
+// manager has begun, so the physical connection has to be fetched on the first statement.
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Clock clock;
+    private final AtomicBoolean replicaAvailable = new AtomicBoolean(true);
+    private final AtomicReference<Instant> readsOnPrimaryUntil = new AtomicReference<>(Instant.MIN);
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this(primary, replica, meterRegistry, Clock.systemUTC());
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry, Clock clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.clock = clock;
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because the replica could not be reached")
+                .register(meterRegistry);
+        meterRegistry.gauge("datasource.replica.available", replicaAvailable, available -> available.get() ? 1 : 0);
+
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replicaReadable = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaAvailable.get()
+                && !clock.instant().isBefore(readsOnPrimaryUntil.get());
+        return replicaReadable ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return source.open(target);
+        }
+        try {
+            return source.open(replica);
+        } catch (SQLException e) {
+            fallbacks.increment();
+            markReplicaUnavailable(e.getMessage());
+            return source.open(primary);
+        }
+    }
+
+    // Keeps reads on the primary for a while after a write, so a client never sees a lagging replica
+    // contradict data (or an ETag) it has just been handed.
+    public void holdReadsOnPrimary(Duration duration) {
+        Instant until = clock.instant().plus(duration);
+        readsOnPrimaryUntil.accumulateAndGet(until, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    public void markReplicaAvailable() {
+        if (replicaAvailable.compareAndSet(false, true)) {
+            log.info("Read replica is available again; routing read-only transactions to it");
+        }
+    }
+
+    public void markReplicaUnavailable(String reason) {
+        if (replicaAvailable.compareAndSet(true, false)) {
+            log.warn("Read replica unavailable ({}); routing read-only transactions to the primary", reason);
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable.get();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource dataSource : new DataSource[]{replica, primary}) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
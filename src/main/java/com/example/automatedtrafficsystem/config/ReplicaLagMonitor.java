@@ -0,0 +1,97 @@
+package com.example.automatedtrafficsystem.config;
+
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Takes the replica out of rotation while it is unreachable or lags more than max-lag behind the primary,
+// and puts it back on the next healthy check.
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    static final Duration MIN_HOLD = Duration.ofMillis(250);
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final DataSource replica;
+    private final Duration maxLag;
+    @Nullable
+    private final String lagQuery;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, DataSource replica,
+                             MeterRegistry meterRegistry, Duration maxLag, @Nullable String lagQuery) {
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("Replica max lag must not be negative");
+        }
+        this.routingDataSource = routingDataSource;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagQuery = StringUtils.hasText(lagQuery) ? lagQuery : null;
+        meterRegistry.gauge("datasource.replica.lag", lagMillis, lag -> lag.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval:PT5S}",
+            scheduler = SchedulingConfig.SHORT_TASK_SCHEDULER)
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            Duration lag = measureLag(connection);
+            lagMillis.set(lag.toMillis());
+            if (lag.compareTo(maxLag) > 0) {
+                routingDataSource.markReplicaUnavailable("lag " + lag.toMillis() + "ms exceeds " + maxLag.toMillis() + "ms");
+            } else {
+                routingDataSource.markReplicaAvailable();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Read replica health check failed", e);
+            routingDataSource.markReplicaUnavailable(e.getMessage());
+        }
+    }
+
+    // A replica may not have replayed an ingest yet when the client reads it back, so reads stay on the primary
+    // for the lag last measured (at least MIN_HOLD, at most max-lag). Holding for max-lag after every ingest
+    // would keep the replica idle under steady ingest. Without a lag query the lag is unknown and max-lag is used.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        if (!event.replay()) {
+            routingDataSource.holdReadsOnPrimary(readHoldAfterIngest());
+        }
+    }
+
+    Duration readHoldAfterIngest() {
+        if (lagQuery == null) {
+            return maxLag;
+        }
+        Duration lag = Duration.ofMillis(lagMillis.get());
+        Duration hold = lag.compareTo(MIN_HOLD) < 0 ? MIN_HOLD : lag;
+        return hold.compareTo(maxLag) > 0 ? maxLag : hold;
+    }
+
+    private Duration measureLag(Connection connection) throws SQLException {
+        if (lagQuery == null) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                throw new SQLException("Replica connection failed validation");
+            }
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                throw new SQLException("Replica lag query returned no rows");
+            }
+            return Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.automatedtrafficsystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Counts the rows each repository method hands back, next to Spring Data's own
+// spring.data.repository.invocations timer. Streams are counted as they are consumed and recorded on close.
+public class RepositoryRowCountInterceptor implements MethodInterceptor {
+
+    static final String METRIC_NAME = "spring.data.repository.rows";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final String repository;
+    private final Map<Method, Counter> counters = new ConcurrentHashMap<>();
+
+    public RepositoryRowCountInterceptor(Supplier<MeterRegistry> meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        Counter counter = counters.computeIfAbsent(invocation.getMethod(), this::counterFor);
+        if (result instanceof Stream<?> stream) {
+            LongAdder rows = new LongAdder();
+            return stream.peek(row -> rows.increment()).onClose(() -> counter.increment(rows.sum()));
+        }
+        counter.increment(rowCount(result));
+        return result;
+    }
+
+    static long rowCount(@Nullable Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    private Counter counterFor(Method method) {
+        return Counter.builder(METRIC_NAME)
+                .description("Rows returned by repository methods")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .register(meterRegistry.get());
+    }
+}
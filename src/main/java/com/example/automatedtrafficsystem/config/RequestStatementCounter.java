@@ -0,0 +1,48 @@
+package com.example.automatedtrafficsystem.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts the SQL statements Hibernate prepares for each HTTP request. The count is bound to the request's
+// thread by RequestStatementMetricsFilter, never looked up by the client-supplied X-Request-Id, so concurrent
+// requests reusing an id cannot share or reset each other's count. Work fanned out to other threads (see
+// PartitionedTrafficAggregator) binds the same count there with bind().
+public class RequestStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<LongAdder> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        LongAdder statements = CURRENT.get();
+        if (statements != null) {
+            statements.increment();
+        }
+        return sql;
+    }
+
+    @Nullable
+    public static LongAdder current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(@Nullable LongAdder statements) {
+        if (statements == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statements);
+        }
+    }
+
+    static LongAdder begin() {
+        LongAdder statements = new LongAdder();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    static long end(LongAdder statements) {
+        CURRENT.remove();
+        return statements.sum();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.automatedtrafficsystem.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// Long jobs (retention, partition maintenance) run on the default scheduler. Short, frequent tasks such as
+// replica checks and the forecast refresh get their own, so they never queue behind a job that runs for minutes.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String SHORT_TASK_SCHEDULER = "shortTaskScheduler";
+
+    // Declared explicitly: Boot backs off its own scheduler as soon as any other TaskScheduler bean exists.
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = SHORT_TASK_SCHEDULER)
+    public ThreadPoolTaskScheduler shortTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("short-task-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.automatedtrafficsystem.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+// Lifts spring.mvc.async.request-timeout for requests whose handler opted in, such as streaming exports that
+// run as long as the client keeps reading. Every other async request keeps the global timeout.
+public class UnboundedAsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    static final String UNBOUNDED_ATTRIBUTE = UnboundedAsyncTimeoutInterceptor.class.getName() + ".UNBOUNDED";
+
+    public static void requestUnboundedTimeout(HttpServletRequest request) {
+        request.setAttribute(UNBOUNDED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    // Runs after the configured timeout was applied and before async processing starts, so it can still be changed.
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncWebRequest
+                && request.getAttribute(UNBOUNDED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            asyncWebRequest.setTimeout(-1L);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.automatedtrafficsystem.controller;
 
 import com.example.automatedtrafficsystem.ai.TrafficAnalysisService;
 import com.example.automatedtrafficsystem.ai.TrafficPrediction;
+import com.example.automatedtrafficsystem.forecast.BacktestReport;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,12 +17,18 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Validated
@@ -41,9 +48,10 @@ public class TrafficAIController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully analyzed traffic patterns"),
         @ApiResponse(responseCode = "400", description = "Invalid date range provided"),
+        @ApiResponse(responseCode = "503", description = "Too many analyses in progress"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<String> analyzeTrafficPatterns(
+    public CompletableFuture<ResponseEntity<String>> analyzeTrafficPatterns(
             @RequestParam @NotNull(message = "Start date is required") 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @NotNull(message = "End date is required")
@@ -55,8 +63,37 @@ public class TrafficAIController {
         }
         
         log.info("Analyzing traffic patterns from {} to {}", startDate, endDate);
-        String analysis = trafficAnalysisService.analyzeTrafficPatterns(startDate, endDate);
-        return ResponseEntity.ok(analysis);
+        return trafficAnalysisService.analyzeTrafficPatterns(startDate, endDate).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream the traffic pattern analysis for a date range",
+            description = "Server-sent events: one 'token' event per generated chunk, then 'done' (or 'error'). "
+                    + "Disconnecting cancels the upstream model request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Analysis stream started"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range provided")
+    })
+    public Flux<ServerSentEvent<String>> streamTrafficAnalysis(
+            @RequestParam @NotNull(message = "Start date is required")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @NotNull(message = "End date is required")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        if (startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Start date must be before or equal to end date");
+        }
+
+        log.info("Streaming traffic analysis from {} to {}", startDate, endDate);
+        // The response is committed with the first event, so later failures are reported in-band.
+        return trafficAnalysisService.streamTrafficAnalysis(startDate, endDate)
+                .map(token -> ServerSentEvent.builder(token).event("token").build())
+                .concatWith(Flux.just(ServerSentEvent.builder("").event("done").build()))
+                .onErrorResume(ex -> {
+                    log.warn("Traffic analysis stream failed: {}", ex.getMessage());
+                    return Flux.just(ServerSentEvent.builder(errorMessage(ex)).event("error").build());
+                });
     }
 
     @GetMapping("/predict")
@@ -90,4 +127,58 @@ public class TrafficAIController {
         }
         return ResponseEntity.ok(prediction);
     }
+
+    @GetMapping("/forecast")
+    @Operation(summary = "Forecast traffic for consecutive intervals",
+            description = "Splits the horizon (ISO-8601 duration, e.g. PT24H) into intervals of the given step (e.g. PT30M)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully forecast traffic"),
+        @ApiResponse(responseCode = "400", description = "Invalid horizon or step provided"),
+        @ApiResponse(responseCode = "422", description = "Insufficient data for prediction")
+    })
+    public ResponseEntity<List<TrafficPrediction>> forecastTraffic(
+            @RequestParam @NotNull(message = "Start time is required")
+            @FutureOrPresent(message = "Start time must be in the present or future")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(defaultValue = "PT24H") Duration horizon,
+            @RequestParam(defaultValue = "PT30M") Duration step) {
+
+        log.info("Forecasting traffic from {} over {} in steps of {}", startTime, horizon, step);
+        try {
+            return ResponseEntity.ok(trafficAnalysisService.forecastTraffic(startTime, horizon, step));
+        } catch (IllegalStateException ex) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), ex);
+        }
+    }
+
+    @GetMapping("/forecast/backtest")
+    @Operation(summary = "Backtest the Holt-Winters forecaster on stored history",
+            description = "Replays [from, to) through a fresh model, scores forecasts made horizon ahead "
+                    + "(a multiple of PT30M) and reports error, interval coverage and fit/forecast throughput")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Backtest completed",
+                    content = @Content(schema = @Schema(implementation = BacktestReport.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid range or horizon provided"),
+        @ApiResponse(responseCode = "422", description = "Not enough history to backtest")
+    })
+    public ResponseEntity<BacktestReport> backtestForecast(
+            @RequestParam @NotNull(message = "From is required")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @NotNull(message = "To is required")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "PT24H") Duration horizon) {
+
+        log.info("Backtesting forecasts from {} to {} with horizon {}", from, to, horizon);
+        try {
+            return ResponseEntity.ok(trafficAnalysisService.backtestForecast(from, to, horizon));
+        } catch (IllegalStateException ex) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), ex);
+        }
+    }
+
+    private static String errorMessage(Throwable ex) {
+        return ex instanceof RejectedExecutionException
+                ? "Too many analyses in progress, please retry later"
+                : "Analysis failed: " + ex.getMessage();
+    }
 }
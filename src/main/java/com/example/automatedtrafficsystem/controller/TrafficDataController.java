@@ -2,7 +2,9 @@ package com.example.automatedtrafficsystem.controller;
 
 import com.example.automatedtrafficsystem.config.ApiVersion;
 import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficDataView;
 import com.example.automatedtrafficsystem.service.TrafficDataService;
+import com.example.automatedtrafficsystem.util.PaginationUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.constraints.Max;
@@ -75,18 +77,24 @@ public class TrafficDataController {
     @GetMapping("/v{version}/traffic/total")
     @Operation(summary = "Get total number of cars",
               description = "Returns the sum of all car counts in the system")
-    public ResponseEntity<Long> getTotalCars(@PathVariable String version) {
-        log.info("Received request to get total number of cars");
-        return ResponseEntity.ok(trafficDataService.getTotalCars());
+    public ResponseEntity<Long> getTotalCars(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received request to get total number of cars - From: {}, To: {}", from, to);
+        return ResponseEntity.ok(trafficDataService.getTotalCars(from, to));
     }
 
     @ApiVersion(1)
     @GetMapping("/v{version}/traffic/daily")
     @Operation(summary = "Get daily car counts",
               description = "Returns a map of dates to total car counts for each day")
-    public ResponseEntity<Map<String, Long>> getDailyCarCounts(@PathVariable String version) {
-        log.info("Received request to get daily car counts");
-        Map<LocalDate, Long> dailyCounts = trafficDataService.getDailyCarCounts();
+    public ResponseEntity<Map<String, Long>> getDailyCarCounts(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received request to get daily car counts - From: {}, To: {}", from, to);
+        Map<LocalDate, Long> dailyCounts = trafficDataService.getDailyCarCounts(from, to);
         Map<String, Long> result = new TreeMap<>();
         dailyCounts.forEach((date, count) -> result.put(date.toString(), count));
         return ResponseEntity.ok(result);
@@ -95,7 +103,7 @@ public class TrafficDataController {
     @ApiVersion(1)
     @GetMapping("/v{version}/traffic")
     @Operation(summary = "Get all traffic data with pagination")
-    public ResponseEntity<Page<TrafficData>> getTrafficData(
+    public ResponseEntity<Page<TrafficDataView>> getTrafficData(
             @PathVariable String version,
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
@@ -114,26 +122,55 @@ public class TrafficDataController {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
         
-        Page<TrafficData> trafficData = trafficDataService.getAllTrafficData(pageable);
+        Page<TrafficDataView> trafficData = trafficDataService.getAllTrafficData(pageable);
         return ResponseEntity.ok(trafficData);
     }
 
+    @ApiVersion(1)
+    @GetMapping(value = "/v{version}/traffic", params = "after")
+    @Operation(summary = "Get traffic data with keyset pagination",
+              description = "Pass an empty 'after' for the first page, then the returned nextCursor. "
+                      + "Ordered by timestamp; no total count is computed")
+    public ResponseEntity<PaginationUtil.CursorPagedResponse<TrafficDataView>> getTrafficDataAfterCursor(
+            @PathVariable String version,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "timestamp,desc") String sort) {
+
+        String[] sortParts = sort.split(",");
+        if (!"timestamp".equals(sortParts[0].trim())) {
+            log.warn("Keyset pagination only supports sorting by 'timestamp'; ignoring '{}'", sortParts[0]);
+        }
+        boolean ascending = sortParts.length > 1 && "asc".equalsIgnoreCase(sortParts[1].trim());
+        PaginationUtil.Cursor cursor = after.isBlank() ? null : PaginationUtil.decodeCursor(after);
+
+        List<TrafficDataView> rows = trafficDataService.getTrafficDataAfter(cursor, size, ascending);
+        return ResponseEntity.ok(PaginationUtil.createCursorPagedResponse(
+                rows, size, data -> new PaginationUtil.Cursor(data.getTimestamp(), data.getId())));
+    }
+
     @ApiVersion(1)
     @GetMapping("/v{version}/traffic/top-three")
     @Operation(summary = "Get top 3 half-hour periods with most cars",
               description = "Returns the 3 half-hour periods with the highest car counts")
-    public ResponseEntity<List<TrafficData>> getTopThreeHalfHours(@PathVariable String version) {
+    public ResponseEntity<List<TrafficDataView>> getTopThreeHalfHours(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         log.info("Received request to get top 3 half-hour periods with most cars");
-        return ResponseEntity.ok(trafficDataService.getTopThreeHalfHours());
+        return ResponseEntity.ok(trafficDataService.getTopThreeHalfHours(from, to));
     }
 
     @ApiVersion(1)
     @GetMapping("/v{version}/traffic/least-cars-period")
     @Operation(summary = "Get contiguous 1.5 hour period with least cars",
               description = "Finds the 1.5-hour period with the lowest total number of cars")
-    public ResponseEntity<List<TrafficData>> getLeastCarsPeriod(@PathVariable String version) {
+    public ResponseEntity<List<TrafficDataView>> getLeastCarsPeriod(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         log.info("Received request to get 1.5 hour period with least cars");
-        return ResponseEntity.ok(trafficDataService.findLeastCarsContiguousPeriod());
+        return ResponseEntity.ok(trafficDataService.findLeastCarsContiguousPeriod(from, to));
     }
 
     @ApiVersion(1)
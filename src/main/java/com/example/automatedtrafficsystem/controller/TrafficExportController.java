@@ -0,0 +1,120 @@
+package com.example.automatedtrafficsystem.controller;
+
+import com.example.automatedtrafficsystem.config.ApiVersion;
+import com.example.automatedtrafficsystem.config.UnboundedAsyncTimeoutInterceptor;
+import com.example.automatedtrafficsystem.export.TrafficDataExporter;
+import com.example.automatedtrafficsystem.export.TrafficExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class TrafficExportController {
+
+    private static final LocalDateTime UNBOUNDED_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime UNBOUNDED_END = LocalDateTime.of(3000, 1, 1, 0, 0);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final TrafficDataExporter trafficDataExporter;
+
+    @ApiVersion(2)
+    @GetMapping("/v{version}/traffic/export")
+    @Operation(summary = "Export traffic data",
+              description = "Streams all records in an optional date range as CSV, NDJSON or TRFC columnar binary, "
+                      + "chosen by the format parameter or the Accept header; gzip-compressed when accepted")
+    public ResponseEntity<StreamingResponseBody> exportTrafficData(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must be before or equal to to date");
+        }
+        TrafficExportFormat exportFormat = TrafficExportFormat.negotiate(
+                format, accept != null ? MediaType.parseMediaTypes(accept) : List.of());
+        boolean gzip = acceptsGzip(acceptEncoding);
+        LocalDateTime start = from != null ? from.atStartOfDay() : UNBOUNDED_START;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : UNBOUNDED_END;
+        log.info("Received request to export traffic data from {} to {} as {} (gzip: {})", from, to, exportFormat, gzip);
+
+        // An export runs as long as the client keeps reading, so it is exempt from the async request timeout.
+        UnboundedAsyncTimeoutInterceptor.requestUnboundedTimeout(request);
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                trafficDataExporter.export(start, end, exportFormat, gzipStream);
+                gzipStream.finish();
+            } else {
+                trafficDataExporter.export(start, end, exportFormat, outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("traffic-data." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // An explicit gzip (or x-gzip) entry decides, otherwise "*"; a quality of 0 means not acceptable.
+    static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality(parts));
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality(parts);
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
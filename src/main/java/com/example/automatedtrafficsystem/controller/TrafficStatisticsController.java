@@ -0,0 +1,81 @@
+package com.example.automatedtrafficsystem.controller;
+
+import com.example.automatedtrafficsystem.config.ApiVersion;
+import com.example.automatedtrafficsystem.model.TrafficAnomalyView;
+import com.example.automatedtrafficsystem.service.TrafficStatisticsService;
+import com.example.automatedtrafficsystem.stats.TrafficCompletenessReport;
+import com.example.automatedtrafficsystem.stats.TrafficHeatmap;
+import com.example.automatedtrafficsystem.stats.TrafficPercentileStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class TrafficStatisticsController {
+
+    private static final int MAX_ANOMALIES = 1000;
+
+    private final TrafficStatisticsService trafficStatisticsService;
+
+    @ApiVersion(2)
+    @GetMapping("/v{version}/traffic/stats/percentiles")
+    @Operation(summary = "Get car count percentiles",
+              description = "Returns p50/p90/p99 car counts per hour of day and per day of week for an optional date range")
+    public ResponseEntity<TrafficPercentileStatistics> getPercentileStatistics(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received request to get percentile statistics from {} to {}", from, to);
+        return ResponseEntity.ok(trafficStatisticsService.getPercentileStatistics(from, to));
+    }
+
+    @ApiVersion(2)
+    @GetMapping("/v{version}/traffic/stats/heatmap")
+    @Operation(summary = "Get day-of-week by time-of-day heatmap",
+              description = "Returns a 7x48 matrix of car count sums, record counts and averages for an optional date range")
+    public ResponseEntity<TrafficHeatmap> getHeatmap(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received request to get traffic heatmap from {} to {}", from, to);
+        return ResponseEntity.ok(trafficStatisticsService.getHeatmap(from, to));
+    }
+
+    @ApiVersion(2)
+    @GetMapping("/v{version}/traffic/stats/completeness")
+    @Operation(summary = "Get data completeness",
+              description = "Returns coverage percentage and missing half-hour slots per day for an optional date range")
+    public ResponseEntity<TrafficCompletenessReport> getCompleteness(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received request to get data completeness from {} to {}", from, to);
+        return ResponseEntity.ok(trafficStatisticsService.getCompleteness(from, to));
+    }
+
+    @ApiVersion(2)
+    @GetMapping("/v{version}/traffic/stats/anomalies")
+    @Operation(summary = "Get traffic anomalies",
+              description = "Returns records flagged at ingest as spikes or drops for their hour-of-week slot, newest first")
+    public ResponseEntity<List<TrafficAnomalyView>> getAnomalies(
+            @PathVariable String version,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_ANOMALIES) int limit) {
+        log.info("Received request to get traffic anomalies from {} to {}", from, to);
+        return ResponseEntity.ok(trafficStatisticsService.getAnomalies(from, to, limit));
+    }
+}
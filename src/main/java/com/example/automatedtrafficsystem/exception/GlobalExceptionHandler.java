@@ -18,6 +18,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @ControllerAdvice
@@ -120,6 +121,16 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorDetails> handleRejectedExecution(
+            RejectedExecutionException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Rejected request because the worker pool is saturated: {}", request.getRequestURI());
+        return buildError(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_BUSY",
+                "Too many requests are in progress. Please try again later.", request, null);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorDetails> handleIllegalStateException(
             IllegalStateException ex,
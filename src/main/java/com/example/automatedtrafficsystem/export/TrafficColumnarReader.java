@@ -0,0 +1,147 @@
+package com.example.automatedtrafficsystem.export;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+// Decodes streams produced by TrafficColumnarWriter, block by block.
+public final class TrafficColumnarReader {
+
+    private final InputStream in;
+    private final int blockSize;
+    private boolean finished;
+
+    public TrafficColumnarReader(InputStream in) throws IOException {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+        byte[] magic = this.in.readNBytes(TrafficColumnarWriter.MAGIC.length);
+        if (!Arrays.equals(magic, TrafficColumnarWriter.MAGIC)) {
+            throw new IOException("Not a TRFC columnar stream");
+        }
+        int version = this.in.read();
+        if (version != TrafficColumnarWriter.VERSION) {
+            throw new IOException("Unsupported TRFC version: " + version);
+        }
+        this.blockSize = Math.toIntExact(Varints.readUnsigned(this.in));
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    // Returns null once the end marker has been read.
+    @Nullable
+    public Block readBlock() throws IOException {
+        return readBlock(header -> true);
+    }
+
+    // Skips, without decoding, every block whose header the filter rejects.
+    @Nullable
+    public Block readBlock(Predicate<BlockHeader> filter) throws IOException {
+        while (!finished) {
+            int rows = Math.toIntExact(Varints.readUnsigned(in));
+            if (rows == 0) {
+                finished = true;
+                return null;
+            }
+            if (rows > blockSize) {
+                throw new IOException("Block of " + rows + " rows exceeds block size " + blockSize);
+            }
+
+            BlockHeader header = new BlockHeader(
+                    rows,
+                    Math.toIntExact(Varints.readUnsigned(in)),
+                    Math.toIntExact(Varints.readUnsigned(in)),
+                    Varints.readUnsigned(in),
+                    toTimestamp(Varints.readSigned(in)),
+                    toTimestamp(Varints.readSigned(in)));
+            long bodyLength = Varints.readUnsigned(in);
+            if (filter.test(header)) {
+                return new Block(header, decodeBody(header));
+            }
+            in.skipNBytes(bodyLength);
+        }
+        return null;
+    }
+
+    private Columns decodeBody(BlockHeader header) throws IOException {
+        int rows = header.rowCount();
+        long[] epochSeconds = new long[rows];
+        epochSeconds[0] = header.firstTimestamp().toEpochSecond(ZoneOffset.UTC);
+        long delta = 0;
+        for (int i = 1; i < rows; i++) {
+            long encoded = Varints.readSigned(in);
+            delta = i == 1 ? encoded : delta + encoded;
+            epochSeconds[i] = epochSeconds[i - 1] + delta;
+        }
+
+        int[] carCounts = new int[rows];
+        carCounts[0] = Math.toIntExact(Varints.readUnsigned(in));
+        for (int i = 1; i < rows; i++) {
+            carCounts[i] = Math.toIntExact(carCounts[i - 1] + Varints.readSigned(in));
+        }
+
+        if (epochSeconds[rows - 1] != header.lastTimestamp().toEpochSecond(ZoneOffset.UTC)) {
+            throw new IOException("Corrupt TRFC block: timestamp column does not match header");
+        }
+        return new Columns(epochSeconds, carCounts);
+    }
+
+    private static LocalDateTime toTimestamp(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    public static List<TrafficSample> readAll(InputStream in) throws IOException {
+        TrafficColumnarReader reader = new TrafficColumnarReader(in);
+        List<TrafficSample> samples = new ArrayList<>();
+        Block block;
+        while ((block = reader.readBlock()) != null) {
+            for (int i = 0; i < block.size(); i++) {
+                samples.add(new TrafficSample(block.timestampAt(i), block.carCountAt(i)));
+            }
+        }
+        return samples;
+    }
+
+    public record BlockHeader(int rowCount, int minCarCount, int maxCarCount, long totalCars,
+                              LocalDateTime firstTimestamp, LocalDateTime lastTimestamp) {
+    }
+
+    private record Columns(long[] epochSeconds, int[] carCounts) {
+    }
+
+    public static final class Block {
+
+        private final BlockHeader header;
+        private final Columns columns;
+
+        private Block(BlockHeader header, Columns columns) {
+            this.header = header;
+            this.columns = columns;
+        }
+
+        public BlockHeader getHeader() {
+            return header;
+        }
+
+        public int size() {
+            return header.rowCount();
+        }
+
+        public LocalDateTime timestampAt(int index) {
+            return toTimestamp(columns.epochSeconds()[index]);
+        }
+
+        public int carCountAt(int index) {
+            return columns.carCounts()[index];
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.automatedtrafficsystem.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Writes (timestamp, car count) rows in the TRFC columnar format:
+//
+//   stream := "TRFC" version:u8 blockSize:uvarint block* end:uvarint(0)
+//   block  := rows:uvarint minCars:uvarint maxCars:uvarint sumCars:uvarint
+//             firstEpochSecond:svarint lastEpochSecond:svarint bodyLength:uvarint body
+//   body   := timestamp deltas (first delta, then delta-of-delta) as svarints,
+//             then car counts (first as uvarint, then deltas as svarints)
+//
+// Timestamps are UTC epoch seconds. Regular half-hour data costs about two bytes per row, and the
+// block headers let readers filter or skip blocks without decoding the body.
+public final class TrafficColumnarWriter {
+
+    static final byte[] MAGIC = {'T', 'R', 'F', 'C'};
+    static final int VERSION = 1;
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final OutputStream out;
+    private final long[] epochSeconds;
+    private final int[] carCounts;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private int size;
+    private boolean headerWritten;
+
+    public TrafficColumnarWriter(OutputStream out, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1");
+        }
+        this.out = out;
+        this.epochSeconds = new long[blockSize];
+        this.carCounts = new int[blockSize];
+    }
+
+    public void write(LocalDateTime timestamp, int carCount) throws IOException {
+        if (carCount < 0) {
+            throw new IllegalArgumentException("Car count cannot be negative");
+        }
+        writeHeaderIfNeeded();
+        epochSeconds[size] = timestamp.toEpochSecond(ZoneOffset.UTC);
+        carCounts[size] = carCount;
+        size++;
+        if (size == epochSeconds.length) {
+            writeBlock();
+        }
+    }
+
+    // Writes the pending block and the end marker; does not close the underlying stream.
+    public void finish() throws IOException {
+        writeHeaderIfNeeded();
+        writeBlock();
+        Varints.writeUnsigned(out, 0);
+        out.flush();
+    }
+
+    private void writeHeaderIfNeeded() throws IOException {
+        if (!headerWritten) {
+            out.write(MAGIC);
+            out.write(VERSION);
+            Varints.writeUnsigned(out, epochSeconds.length);
+            headerWritten = true;
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (size == 0) {
+            return;
+        }
+
+        body.reset();
+        long previousDelta = 0;
+        for (int i = 1; i < size; i++) {
+            long delta = epochSeconds[i] - epochSeconds[i - 1];
+            Varints.writeSigned(body, i == 1 ? delta : delta - previousDelta);
+            previousDelta = delta;
+        }
+
+        int min = carCounts[0];
+        int max = carCounts[0];
+        long sum = carCounts[0];
+        Varints.writeUnsigned(body, carCounts[0]);
+        for (int i = 1; i < size; i++) {
+            Varints.writeSigned(body, (long) carCounts[i] - carCounts[i - 1]);
+            min = Math.min(min, carCounts[i]);
+            max = Math.max(max, carCounts[i]);
+            sum += carCounts[i];
+        }
+
+        Varints.writeUnsigned(out, size);
+        Varints.writeUnsigned(out, min);
+        Varints.writeUnsigned(out, max);
+        Varints.writeUnsigned(out, sum);
+        Varints.writeSigned(out, epochSeconds[0]);
+        Varints.writeSigned(out, epochSeconds[size - 1]);
+        Varints.writeUnsigned(out, body.size());
+        body.writeTo(out);
+        size = 0;
+    }
+}
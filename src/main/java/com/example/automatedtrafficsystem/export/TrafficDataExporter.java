@@ -0,0 +1,112 @@
+package com.example.automatedtrafficsystem.export;
+
+import com.example.automatedtrafficsystem.model.TrafficDataView;
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Streams rows straight from a forward-only cursor to the response, so memory stays constant no
+// matter how large the range is. The caller owns the output stream and any compression around it.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrafficDataExporter {
+
+    static final String CSV_HEADER = "id,timestamp,carCount,createdAt\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final TrafficDataRepository trafficDataRepository;
+
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime start, LocalDateTime end, TrafficExportFormat format, OutputStream outputStream)
+            throws IOException {
+        long startedAt = System.nanoTime();
+        long rows = format == TrafficExportFormat.COLUMNAR
+                ? writeColumnar(start, end, outputStream)
+                : writeText(start, end, format, outputStream);
+
+        log.info("Exported {} traffic records as {} in {} ms",
+                rows, format, (System.nanoTime() - startedAt) / 1_000_000);
+        return rows;
+    }
+
+    private long writeText(LocalDateTime start, LocalDateTime end, TrafficExportFormat format,
+                           OutputStream outputStream) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+
+        if (format == TrafficExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        try (Stream<TrafficDataView> stream = trafficDataRepository.streamViewsBetween(start, end)) {
+            Iterator<TrafficDataView> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                TrafficDataView row = iterator.next();
+                if (format == TrafficExportFormat.CSV) {
+                    writeCsv(row, writer);
+                } else {
+                    writeNdjson(row, writer);
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long writeColumnar(LocalDateTime start, LocalDateTime end, OutputStream outputStream) throws IOException {
+        long rows = 0;
+        BufferedOutputStream buffered = new BufferedOutputStream(outputStream, WRITE_BUFFER_SIZE);
+        TrafficColumnarWriter writer = new TrafficColumnarWriter(buffered, TrafficColumnarWriter.DEFAULT_BLOCK_SIZE);
+
+        try (Stream<TrafficSample> stream = trafficDataRepository.streamSamplesBetween(start, end)) {
+            Iterator<TrafficSample> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                TrafficSample sample = iterator.next();
+                writer.write(sample.timestamp(), sample.carCount());
+                rows++;
+            }
+        }
+        writer.finish();
+        return rows;
+    }
+
+    private void writeCsv(TrafficDataView row, Writer writer) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(TIMESTAMP_FORMATTER.format(row.getTimestamp()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getCarCount()));
+        writer.write(',');
+        writer.write(TIMESTAMP_FORMATTER.format(row.getCreatedAt()));
+        writer.write('\n');
+    }
+
+    private void writeNdjson(TrafficDataView row, Writer writer) throws IOException {
+        writer.write("{\"id\":");
+        writer.write(String.valueOf(row.getId()));
+        writer.write(",\"timestamp\":\"");
+        writer.write(TIMESTAMP_FORMATTER.format(row.getTimestamp()));
+        writer.write("\",\"carCount\":");
+        writer.write(String.valueOf(row.getCarCount()));
+        writer.write(",\"createdAt\":\"");
+        writer.write(TIMESTAMP_FORMATTER.format(row.getCreatedAt()));
+        writer.write("\"}\n");
+    }
+}
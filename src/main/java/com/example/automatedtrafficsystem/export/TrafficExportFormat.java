@@ -0,0 +1,55 @@
+package com.example.automatedtrafficsystem.export;
+
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+
+public enum TrafficExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson"),
+    COLUMNAR("application/vnd.traffic.columnar", "trfc");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    TrafficExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static TrafficExportFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    // An explicit format parameter wins; otherwise the first acceptable type we can produce, then CSV.
+    public static TrafficExportFormat negotiate(@Nullable String format, List<MediaType> acceptedTypes) {
+        if (format != null && !format.isBlank()) {
+            return fromParameter(format);
+        }
+        for (MediaType accepted : acceptedTypes) {
+            if (accepted.isWildcardType()) {
+                break;
+            }
+            for (TrafficExportFormat candidate : values()) {
+                if (accepted.includes(MediaType.parseMediaType(candidate.mediaType))) {
+                    return candidate;
+                }
+            }
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import java.time.LocalDateTime;
+
+// Accuracy of horizon-ahead Holt-Winters forecasts over replayed history, against a same-slot-last-week
+// baseline, plus fit and forecast throughput. skill is 1 - mae / seasonalNaiveMae (null without a baseline).
+public record BacktestReport(
+        LocalDateTime from,
+        LocalDateTime to,
+        int horizonSlots,
+        HoltWintersModel.Parameters parameters,
+        long samples,
+        long slots,
+        long forecasts,
+        double mae,
+        double rmse,
+        double wape,
+        double intervalCoverage,
+        Double seasonalNaiveMae,
+        Double skill,
+        double fitMillis,
+        double fitSlotsPerSecond,
+        double forecastsPerSecond) {
+}
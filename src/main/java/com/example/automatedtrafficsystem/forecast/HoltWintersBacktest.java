@@ -0,0 +1,129 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_WEEK;
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOT_MINUTES;
+
+// Rolling-origin backtest: replays history slot by slot through a fresh model and, from every origin once the
+// model is ready, forecasts the slot horizonSlots ahead; each forecast is scored when that slot is replayed.
+// A separate pass times the bare fit, which is what bounds how many series can be refitted per second.
+public final class HoltWintersBacktest {
+
+    private HoltWintersBacktest() {
+    }
+
+    public static BacktestReport run(List<TrafficSample> history, HoltWintersModel.Parameters parameters,
+                                     int horizonSlots, double intervalZ) {
+        if (horizonSlots < 1) {
+            throw new IllegalArgumentException("Backtest horizon must be at least one slot");
+        }
+        if (history.isEmpty()) {
+            throw new IllegalStateException("No traffic data to backtest");
+        }
+        List<TrafficSample> ordered = history.stream()
+                .sorted(Comparator.comparing(TrafficSample::timestamp))
+                .toList();
+        LocalDateTime first = SeasonalTrafficModel.truncateToSlot(ordered.get(0).timestamp());
+        LocalDateTime last = SeasonalTrafficModel.truncateToSlot(ordered.get(ordered.size() - 1).timestamp());
+        double[] series = slotSeries(ordered, first, last);
+        int startSlot = SeasonalTrafficModel.slotOf(first);
+
+        long fitStartedAt = System.nanoTime();
+        fit(new HoltWintersModel(parameters, startSlot), series);
+        long fitNanos = Math.max(1, System.nanoTime() - fitStartedAt);
+
+        HoltWintersModel model = new HoltWintersModel(parameters, startSlot);
+        double[] predicted = new double[horizonSlots];
+        double[] halfWidths = new double[horizonSlots];
+        boolean[] pending = new boolean[horizonSlots];
+        long forecasts = 0;
+        long forecastNanos = 0;
+        long scored = 0;
+        double absoluteErrors = 0;
+        double squaredErrors = 0;
+        double actuals = 0;
+        long covered = 0;
+        long naiveScored = 0;
+        double naiveAbsoluteErrors = 0;
+
+        for (int i = 0; i < series.length; i++) {
+            int ring = i % horizonSlots;
+            double actual = series[i];
+            if (pending[ring] && !Double.isNaN(actual)) {
+                double error = actual - predicted[ring];
+                scored++;
+                absoluteErrors += Math.abs(error);
+                squaredErrors += error * error;
+                actuals += actual;
+                if (Math.abs(error) <= halfWidths[ring]) {
+                    covered++;
+                }
+                if (i >= SLOTS_PER_WEEK && !Double.isNaN(series[i - SLOTS_PER_WEEK])) {
+                    naiveScored++;
+                    naiveAbsoluteErrors += Math.abs(actual - series[i - SLOTS_PER_WEEK]);
+                }
+            }
+            pending[ring] = false;
+
+            step(model, actual);
+            if (model.isReady()) {
+                long startedAt = System.nanoTime();
+                HoltWintersModel.Window window = model.forecast(horizonSlots, 1);
+                forecastNanos += System.nanoTime() - startedAt;
+                forecasts++;
+                predicted[ring] = window.total();
+                halfWidths[ring] = intervalZ * window.standardDeviation();
+                pending[ring] = true;
+            }
+        }
+
+        if (scored == 0) {
+            throw new IllegalStateException("Not enough history to backtest; at least "
+                    + (SLOTS_PER_WEEK + SeasonalTrafficModel.SLOTS_PER_DAY + horizonSlots) + " half-hour slots are needed");
+        }
+        double mae = absoluteErrors / scored;
+        Double naiveMae = naiveScored == 0 ? null : naiveAbsoluteErrors / naiveScored;
+        Double skill = naiveMae == null || naiveMae == 0 ? null : 1 - mae / naiveMae;
+        return new BacktestReport(first, last, horizonSlots, parameters, ordered.size(), series.length, scored,
+                mae, Math.sqrt(squaredErrors / scored), actuals == 0 ? 0 : absoluteErrors / actuals,
+                (double) covered / scored, naiveMae, skill, fitNanos / 1e6, series.length * 1e9 / fitNanos,
+                forecasts * 1e9 / Math.max(1, forecastNanos));
+    }
+
+    // Car counts summed per half-hour slot from first to last; NaN marks slots without samples.
+    static double[] slotSeries(List<TrafficSample> ordered, LocalDateTime first, LocalDateTime last) {
+        long length = ChronoUnit.MINUTES.between(first, last) / SLOT_MINUTES + 1;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Backtest history is too long");
+        }
+        double[] series = new double[(int) length];
+        Arrays.fill(series, Double.NaN);
+        for (TrafficSample sample : ordered) {
+            int index = (int) (ChronoUnit.MINUTES.between(first,
+                    SeasonalTrafficModel.truncateToSlot(sample.timestamp())) / SLOT_MINUTES);
+            series[index] = (Double.isNaN(series[index]) ? 0 : series[index]) + sample.carCount();
+        }
+        return series;
+    }
+
+    static void fit(HoltWintersModel model, double[] series) {
+        for (double value : series) {
+            step(model, value);
+        }
+    }
+
+    private static void step(HoltWintersModel model, double value) {
+        if (Double.isNaN(value)) {
+            model.skip();
+        } else {
+            model.observe(value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import java.time.LocalDateTime;
+
+// Holt-Winters estimate for a window: expected volume with a prediction interval, and the busiest slot in it.
+public record HoltWintersForecast(
+        LocalDateTime start,
+        LocalDateTime end,
+        long slots,
+        long observations,
+        double meanPerSlot,
+        double expectedVolume,
+        double lowerBound,
+        double upperBound,
+        int peakSlot,
+        double peakSlotMean) {
+
+    // Narrows towards 1 as the interval tightens around the estimate: expected / (expected + half-width).
+    public double confidence() {
+        double halfWidth = (upperBound - lowerBound) / 2;
+        if (expectedVolume <= 0) {
+            return 0;
+        }
+        return Math.round(expectedVolume / (expectedVolume + halfWidth) * 100) / 100.0;
+    }
+}
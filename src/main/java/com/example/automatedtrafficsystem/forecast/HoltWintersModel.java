@@ -0,0 +1,236 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import java.util.Arrays;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_DAY;
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_WEEK;
+
+// Double-seasonal Holt-Winters (additive level, damped trend, daily and weekly seasonal terms) over a series of
+// consecutive half-hour slots, in error-correction form so each observation is an O(1), allocation-free update.
+// The first week initialises level and seasonals; after that every slot is folded in as it arrives. The
+// one-step residual variance is tracked to give h-step prediction intervals. Not thread-safe.
+public final class HoltWintersModel {
+
+    // Window (in slots) over which the one-step residual variance is averaged.
+    private static final int VARIANCE_WINDOW = 4 * SLOTS_PER_WEEK;
+
+    public record Parameters(double alpha, double beta, double gamma, double delta, double phi) {
+
+        public static final Parameters DEFAULT = new Parameters(0.1, 0.001, 0.05, 0.1, 0.98);
+
+        public Parameters {
+            if (!inUnitInterval(alpha) || !inUnitInterval(beta) || !inUnitInterval(gamma) || !inUnitInterval(delta)
+                    || phi <= 0 || phi > 1) {
+                throw new IllegalArgumentException("Smoothing parameters must be within [0, 1] and phi within (0, 1]");
+            }
+        }
+
+        private static boolean inUnitInterval(double value) {
+            return value >= 0 && value <= 1;
+        }
+    }
+
+    // Sum of the point forecasts over a window of slots, with the standard deviation of that sum and the
+    // busiest slot in it.
+    public record Window(double total, double standardDeviation, int peakStep, double peakMean) {
+    }
+
+    // Per-slot forecasts for steps 1 .. steps() (index h - 1). Slot errors are positively correlated, so a
+    // window's deviation is taken as the sum of the per-slot deviations, which errs on the wide side.
+    public record Horizon(double[] means, double[] standardDeviations) {
+
+        public int steps() {
+            return means.length;
+        }
+
+        public Window window(int firstStep, int steps) {
+            if (firstStep < 1 || steps < 1 || firstStep - 1 + steps > means.length) {
+                throw new IllegalArgumentException("Forecast window must lie within the horizon");
+            }
+            double total = 0;
+            double standardDeviation = 0;
+            int peakStep = firstStep;
+            double peakMean = Double.NEGATIVE_INFINITY;
+            for (int h = firstStep; h < firstStep + steps; h++) {
+                total += means[h - 1];
+                standardDeviation += standardDeviations[h - 1];
+                if (means[h - 1] > peakMean) {
+                    peakStep = h;
+                    peakMean = means[h - 1];
+                }
+            }
+            return new Window(total, standardDeviation, peakStep, peakMean);
+        }
+    }
+
+    private final Parameters parameters;
+    private final double[] daily = new double[SLOTS_PER_DAY];
+    private final double[] weekly = new double[SLOTS_PER_WEEK];
+    private double[] warmup = new double[SLOTS_PER_WEEK];
+    private int warmupSlots;
+    private int phase;
+    private double level;
+    private double trend;
+    private double residualVariance;
+    private long residuals;
+    private long observations;
+
+    // startSlot is the hour-of-week slot (SeasonalTrafficModel.slotOf) of the first value.
+    public HoltWintersModel(Parameters parameters, int startSlot) {
+        if (startSlot < 0 || startSlot >= SLOTS_PER_WEEK) {
+            throw new IllegalArgumentException("Start slot must be an hour-of-week slot");
+        }
+        this.parameters = parameters;
+        this.phase = startSlot;
+    }
+
+    public void observe(double value) {
+        observations++;
+        if (warmup != null) {
+            warmup[warmupSlots++] = value;
+            advanceWarmup();
+            return;
+        }
+
+        double error = value - (level + parameters.phi() * trend + daily[phase % SLOTS_PER_DAY] + weekly[phase]);
+        level += parameters.phi() * trend + parameters.alpha() * error;
+        trend = parameters.phi() * trend + parameters.beta() * error;
+        daily[phase % SLOTS_PER_DAY] += parameters.gamma() * error;
+        weekly[phase] += parameters.delta() * error;
+
+        residuals++;
+        residualVariance += (error * error - residualVariance) / Math.min(residuals, VARIANCE_WINDOW);
+        phase = (phase + 1) % SLOTS_PER_WEEK;
+    }
+
+    // The next slot has no data: the state moves on without a correction.
+    public void skip() {
+        if (warmup != null) {
+            warmup[warmupSlots++] = Double.NaN;
+            advanceWarmup();
+            return;
+        }
+        level += parameters.phi() * trend;
+        trend *= parameters.phi();
+        phase = (phase + 1) % SLOTS_PER_WEEK;
+    }
+
+    // Ready once initialised and a day of residuals backs the interval estimate.
+    public boolean isReady() {
+        return warmup == null && residuals >= SLOTS_PER_DAY;
+    }
+
+    // Hour-of-week slot of the next value to be observed (forecast step 1).
+    public int nextSlot() {
+        return phase;
+    }
+
+    public long observations() {
+        return observations;
+    }
+
+    public double residualStandardDeviation() {
+        return Math.sqrt(residualVariance);
+    }
+
+    // Forecast for the slots firstStep .. firstStep + steps - 1 ahead (step 1 is nextSlot). The steps are walked
+    // one at a time, so a window far ahead costs O(firstStep + steps) time but no per-step arrays.
+    public Window forecast(int firstStep, int steps) {
+        if (firstStep < 1 || steps < 1 || firstStep - 1 > Integer.MAX_VALUE - steps) {
+            throw new IllegalArgumentException("Forecast steps must start at 1 and cover at least one slot");
+        }
+        Steps walk = new Steps();
+        double total = 0;
+        double standardDeviation = 0;
+        int peakStep = firstStep;
+        double peakMean = Double.NEGATIVE_INFINITY;
+        int lastStep = firstStep - 1 + steps;
+        for (int h = 1; h <= lastStep; h++) {
+            walk.next();
+            if (h >= firstStep) {
+                total += walk.mean;
+                standardDeviation += walk.standardDeviation;
+                if (walk.mean > peakMean) {
+                    peakStep = h;
+                    peakMean = walk.mean;
+                }
+            }
+        }
+        return new Window(total, standardDeviation, peakStep, peakMean);
+    }
+
+    // Point forecast and deviation of each of the next steps slots.
+    public Horizon horizon(int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Forecast must cover at least one slot");
+        }
+        Steps walk = new Steps();
+        double[] means = new double[steps];
+        double[] standardDeviations = new double[steps];
+        for (int h = 1; h <= steps; h++) {
+            walk.next();
+            means[h - 1] = walk.mean;
+            standardDeviations[h - 1] = walk.standardDeviation;
+        }
+        return new Horizon(means, standardDeviations);
+    }
+
+    // After one week: level is the mean, the daily term the mean deviation per time of day, and the weekly
+    // term what is left per slot. Missing slots contribute nothing.
+    private void advanceWarmup() {
+        phase = (phase + 1) % SLOTS_PER_WEEK;
+        if (warmupSlots < SLOTS_PER_WEEK) {
+            return;
+        }
+        level = Arrays.stream(warmup).filter(value -> !Double.isNaN(value)).average().orElse(0);
+
+        int[] dailyCounts = new int[SLOTS_PER_DAY];
+        for (int i = 0; i < SLOTS_PER_WEEK; i++) {
+            if (!Double.isNaN(warmup[i])) {
+                int slot = (phase + i) % SLOTS_PER_WEEK;
+                daily[slot % SLOTS_PER_DAY] += warmup[i] - level;
+                dailyCounts[slot % SLOTS_PER_DAY]++;
+            }
+        }
+        for (int i = 0; i < SLOTS_PER_DAY; i++) {
+            daily[i] = dailyCounts[i] == 0 ? 0 : daily[i] / dailyCounts[i];
+        }
+        for (int i = 0; i < SLOTS_PER_WEEK; i++) {
+            int slot = (phase + i) % SLOTS_PER_WEEK;
+            weekly[slot] = Double.isNaN(warmup[i]) ? 0 : warmup[i] - level - daily[slot % SLOTS_PER_DAY];
+        }
+        warmup = null;
+    }
+
+    // Forecast steps 1, 2, ... from the current state. The variance of step h is
+    // sigma^2 * (1 + sum of c_j^2 for j < h), c_j being the weight an error today has on the state used j steps
+    // later.
+    private final class Steps {
+
+        private int h;
+        private double phiPower = 1;
+        private double damping;
+        private double errorWeights;
+        private double mean;
+        private double standardDeviation;
+
+        private Steps() {
+            if (warmup != null) {
+                throw new IllegalStateException("Holt-Winters model is still initialising");
+            }
+        }
+
+        private void next() {
+            h++;
+            phiPower *= parameters.phi();
+            damping += phiPower;
+            int slot = (phase + h - 1) % SLOTS_PER_WEEK;
+            mean = Math.max(0, level + damping * trend + daily[slot % SLOTS_PER_DAY] + weekly[slot]);
+            standardDeviation = Math.sqrt(residualVariance * (1 + errorWeights));
+            double weight = parameters.alpha() + parameters.beta() * damping
+                    + (h % SLOTS_PER_DAY == 0 ? parameters.gamma() : 0)
+                    + (h % SLOTS_PER_WEEK == 0 ? parameters.delta() : 0);
+            errorWeights += weight * weight;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOT_MINUTES;
+
+// Holt-Winters per-slot forecasts starting at firstSlot (the open slot when taken). Windows inside it are
+// summed from the stored steps, so answering needs neither the model nor its lock.
+public record HoltWintersSnapshot(
+        LocalDateTime firstSlot,
+        int firstSlotOfWeek,
+        long observations,
+        double intervalZ,
+        HoltWintersModel.Horizon horizon) {
+
+    public LocalDateTime end() {
+        return firstSlot.plusMinutes((long) SLOT_MINUTES * horizon.steps());
+    }
+
+    // Step (1-based) of the slot holding the end of [start, end), which may lie beyond the horizon.
+    static long lastStep(LocalDateTime firstSlot, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime firstSlotStart = SeasonalTrafficModel.truncateToSlot(start);
+        return ChronoUnit.MINUTES.between(firstSlot, firstSlotStart) / SLOT_MINUTES + slots(start, end);
+    }
+
+    // Empty when the window ends before firstSlot or reaches past the horizon. A window that started earlier is
+    // forecast from firstSlot on.
+    public Optional<HoltWintersForecast> forecast(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Start time must be before or equal to end time");
+        }
+        long lastStep = lastStep(firstSlot, start, end);
+        if (lastStep < 1 || lastStep > horizon.steps()) {
+            return Optional.empty();
+        }
+        int firstStep = firstStep(start, end, lastStep);
+        int steps = (int) lastStep - firstStep + 1;
+        return Optional.of(toForecast(start, end, observations, intervalZ, firstSlotOfWeek, steps,
+                horizon.window(firstStep, steps)));
+    }
+
+    static int firstStep(LocalDateTime start, LocalDateTime end, long lastStep) {
+        return (int) Math.max(1, lastStep - slots(start, end) + 1);
+    }
+
+    static HoltWintersForecast toForecast(LocalDateTime start, LocalDateTime end, long observations, double intervalZ,
+                                          int firstSlotOfWeek, int steps, HoltWintersModel.Window window) {
+        double halfWidth = intervalZ * window.standardDeviation();
+        int peakSlot = (firstSlotOfWeek + window.peakStep() - 1) % SeasonalTrafficModel.SLOTS_PER_WEEK;
+        return new HoltWintersForecast(start, end, slots(start, end), observations,
+                window.total() / steps, window.total(),
+                Math.max(0, window.total() - halfWidth), window.total() + halfWidth,
+                peakSlot, window.peakMean());
+    }
+
+    private static long slots(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime firstSlotStart = SeasonalTrafficModel.truncateToSlot(start);
+        return Math.max(1, (ChronoUnit.MINUTES.between(firstSlotStart, end) + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_DAY;
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOT_MINUTES;
+
+// Fits a HoltWintersModel to the half-hour car count series as ingest events (including the startup replay)
+// arrive. A slot is folded in once a later slot shows up, so samples within the open slot are summed first.
+// The slot totals are kept, so samples for earlier slots (late records, backfills) are added to them and the
+// model is refitted from the start of the series once per event, which costs O(slots). Samples further ahead
+// than the ingest clock skew allows are ignored; one of them would otherwise open a slot far in the future.
+@Slf4j
+@Component
+public class HoltWintersTrafficForecaster {
+
+    // How far ahead of the open slot Holt-Winters answers; later windows are left to the slot averages.
+    public static final int MAX_HORIZON_SLOTS = 28 * SLOTS_PER_DAY;
+    private static final int INITIAL_CAPACITY = 7 * SLOTS_PER_DAY;
+
+    private final HoltWintersModel.Parameters parameters;
+    private final double intervalZ;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private HoltWintersModel model;
+    private LocalDateTime firstSlot;
+    private double[] slotTotals = new double[INITIAL_CAPACITY];
+    private int slotCount;
+    private long refits;
+    private long futureSamples;
+
+    public HoltWintersTrafficForecaster(@Value("${app.forecast.holt-winters.alpha:0.1}") double alpha,
+                                        @Value("${app.forecast.holt-winters.beta:0.001}") double beta,
+                                        @Value("${app.forecast.holt-winters.gamma:0.05}") double gamma,
+                                        @Value("${app.forecast.holt-winters.delta:0.1}") double delta,
+                                        @Value("${app.forecast.holt-winters.phi:0.98}") double phi,
+                                        @Value("${app.forecast.holt-winters.interval-z:1.96}") double intervalZ) {
+        this(new HoltWintersModel.Parameters(alpha, beta, gamma, delta, phi), intervalZ, Clock.systemUTC());
+    }
+
+    HoltWintersTrafficForecaster(HoltWintersModel.Parameters parameters, double intervalZ) {
+        this(parameters, intervalZ, Clock.systemUTC());
+    }
+
+    HoltWintersTrafficForecaster(HoltWintersModel.Parameters parameters, double intervalZ, Clock clock) {
+        if (intervalZ <= 0) {
+            throw new IllegalArgumentException("Prediction interval z must be positive");
+        }
+        this.parameters = parameters;
+        this.intervalZ = intervalZ;
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        record(event.samples());
+    }
+
+    public void record(Collection<TrafficSample> samples) {
+        LocalDateTime latestAccepted = LocalDateTime.now(clock).plus(TrafficDataService.MAX_FUTURE_SKEW);
+        List<TrafficSample> ordered = samples.stream()
+                .sorted(Comparator.comparing(TrafficSample::timestamp))
+                .toList();
+        lock.writeLock().lock();
+        try {
+            boolean late = false;
+            for (TrafficSample sample : ordered) {
+                if (sample.timestamp().isAfter(latestAccepted)) {
+                    if (futureSamples++ == 0) {
+                        log.warn("Ignoring traffic samples after {} for the Holt-Winters fit", latestAccepted);
+                    }
+                    continue;
+                }
+                late |= add(SeasonalTrafficModel.truncateToSlot(sample.timestamp()), sample.carCount());
+            }
+            if (late) {
+                refit();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Empty until a week of history plus a day of residuals has been seen, or when the window ends before the
+    // open slot or more than MAX_HORIZON_SLOTS after it; callers fall back to the slot averages then.
+    public Optional<HoltWintersForecast> forecast(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Start time must be before or equal to end time");
+        }
+        lock.readLock().lock();
+        try {
+            if (model == null || !model.isReady()) {
+                return Optional.empty();
+            }
+            long lastStep = HoltWintersSnapshot.lastStep(openSlot(), start, end);
+            if (lastStep < 1 || lastStep > MAX_HORIZON_SLOTS) {
+                return Optional.empty();
+            }
+            int firstStep = HoltWintersSnapshot.firstStep(start, end, lastStep);
+            int steps = (int) lastStep - firstStep + 1;
+            return Optional.of(HoltWintersSnapshot.toForecast(start, end, model.observations(), intervalZ,
+                    model.nextSlot(), steps, model.forecast(firstStep, steps)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Forecasts for the given number of slots from the open slot on; empty until the model is ready.
+    public Optional<HoltWintersSnapshot> snapshot(int slots) {
+        if (slots < 1 || slots > MAX_HORIZON_SLOTS) {
+            throw new IllegalArgumentException("Forecast snapshot must cover 1 to " + MAX_HORIZON_SLOTS + " slots");
+        }
+        lock.readLock().lock();
+        try {
+            if (model == null || !model.isReady()) {
+                return Optional.empty();
+            }
+            return Optional.of(takeSnapshot(slots));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Forecasts from the open slot through the end of [start, end), cut off at MAX_HORIZON_SLOTS, so a batch
+    // of windows is answered from one snapshot. Empty until the model is ready or when [start, end) ends before
+    // the open slot.
+    public Optional<HoltWintersSnapshot> snapshot(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Start time must be before or equal to end time");
+        }
+        lock.readLock().lock();
+        try {
+            if (model == null || !model.isReady()) {
+                return Optional.empty();
+            }
+            long lastStep = HoltWintersSnapshot.lastStep(openSlot(), start, end);
+            if (lastStep < 1) {
+                return Optional.empty();
+            }
+            return Optional.of(takeSnapshot((int) Math.min(lastStep, MAX_HORIZON_SLOTS)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public HoltWintersModel.Parameters parameters() {
+        return parameters;
+    }
+
+    public double intervalZ() {
+        return intervalZ;
+    }
+
+    public long refits() {
+        lock.readLock().lock();
+        try {
+            return refits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long futureSamples() {
+        lock.readLock().lock();
+        try {
+            return futureSamples;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private HoltWintersSnapshot takeSnapshot(int slots) {
+        return new HoltWintersSnapshot(openSlot(), model.nextSlot(), model.observations(), intervalZ,
+                model.horizon(slots));
+    }
+
+    private LocalDateTime openSlot() {
+        return firstSlot.plusMinutes((long) (slotCount - 1) * SLOT_MINUTES);
+    }
+
+    // Returns true when the sample belongs to a slot the model has already observed, so a refit is due.
+    private boolean add(LocalDateTime slot, int carCount) {
+        if (model == null) {
+            model = new HoltWintersModel(parameters, SeasonalTrafficModel.slotOf(slot));
+            firstSlot = slot;
+            slotTotals[0] = carCount;
+            slotCount = 1;
+            return false;
+        }
+        if (slot.isBefore(firstSlot)) {
+            int prepend = Math.toIntExact(ChronoUnit.MINUTES.between(slot, firstSlot) / SLOT_MINUTES);
+            double[] grown = new double[Math.max(slotTotals.length, slotCount + prepend)];
+            Arrays.fill(grown, 0, prepend, Double.NaN);
+            System.arraycopy(slotTotals, 0, grown, prepend, slotCount);
+            slotTotals = grown;
+            slotCount += prepend;
+            firstSlot = slot;
+        }
+        int index = Math.toIntExact(ChronoUnit.MINUTES.between(firstSlot, slot) / SLOT_MINUTES);
+        if (index >= slotCount) {
+            model.observe(slotTotals[slotCount - 1]);
+            for (int missing = slotCount; missing < index; missing++) {
+                model.skip();
+            }
+            if (index >= slotTotals.length) {
+                slotTotals = Arrays.copyOf(slotTotals, Math.max(index + 1, slotTotals.length * 2));
+            }
+            Arrays.fill(slotTotals, slotCount, index + 1, Double.NaN);
+            slotCount = index + 1;
+        }
+        slotTotals[index] = Double.isNaN(slotTotals[index]) ? carCount : slotTotals[index] + carCount;
+        return index < slotCount - 1;
+    }
+
+    private void refit() {
+        model = new HoltWintersModel(parameters, SeasonalTrafficModel.slotOf(firstSlot));
+        for (int index = 0; index < slotCount - 1; index++) {
+            if (Double.isNaN(slotTotals[index])) {
+                model.skip();
+            } else {
+                model.observe(slotTotals[index]);
+            }
+        }
+        refits++;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataCompactedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Running count/mean/variance of car counts per hour-of-week half-hour slot (7 x 48), kept current
+// from ingest events (including the startup replay), so forecasts cost O(slots) and never hit the database.
+@Component
+public class SeasonalTrafficModel {
+
+    public static final int SLOTS_PER_DAY = 48;
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+    static final int SLOT_MINUTES = 30;
+
+    // Pseudo-count in the confidence weight: a slot needs a few observations before it is trusted.
+    private static final double CONFIDENCE_PRIOR = 3.0;
+
+    private final long[] counts = new long[SLOTS_PER_WEEK];
+    private final double[] means = new double[SLOTS_PER_WEEK];
+    private final double[] squaredDeviations = new double[SLOTS_PER_WEEK];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        record(event.samples());
+    }
+
+    public void record(Collection<TrafficSample> samples) {
+        lock.writeLock().lock();
+        try {
+            for (TrafficSample sample : samples) {
+                add(slotOf(sample.timestamp()), sample.carCount());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Compacted records are taken back out so the model matches what a restart would replay from the raw table.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataCompacted(TrafficDataCompactedEvent event) {
+        remove(event.samples());
+    }
+
+    public void remove(Collection<TrafficSample> samples) {
+        lock.writeLock().lock();
+        try {
+            for (TrafficSample sample : samples) {
+                remove(slotOf(sample.timestamp()), sample.carCount());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SlotForecast forecast(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Start time must be before or equal to end time");
+        }
+        LocalDateTime firstSlotStart = truncateToSlot(start);
+        long slots = Math.max(1, (ChronoUnit.MINUTES.between(firstSlotStart, end) + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        int firstSlot = slotOf(start);
+        long fullWeeks = slots / SLOTS_PER_WEEK;
+        long remainder = slots % SLOTS_PER_WEEK;
+
+        long coveredSlots = 0;
+        long observations = 0;
+        double expectedVolume = 0;
+        double reliability = 0;
+        int peakSlot = -1;
+        double peakSlotMean = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int offset = 0; offset < Math.min(slots, SLOTS_PER_WEEK); offset++) {
+                int slot = (firstSlot + offset) % SLOTS_PER_WEEK;
+                long n = counts[slot];
+                if (n == 0) {
+                    continue;
+                }
+                long occurrences = fullWeeks + (offset < remainder ? 1 : 0);
+                double mean = means[slot];
+                double coefficientOfVariation = mean > 0 ? Math.sqrt(squaredDeviations[slot] / n) / mean : 0;
+
+                coveredSlots += occurrences;
+                observations += n;
+                expectedVolume += occurrences * mean;
+                reliability += occurrences * (n / (n + CONFIDENCE_PRIOR)) / (1 + coefficientOfVariation);
+                if (peakSlot < 0 || mean > peakSlotMean) {
+                    peakSlot = slot;
+                    peakSlotMean = mean;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        double meanPerSlot = coveredSlots == 0 ? 0 : expectedVolume / coveredSlots;
+        double confidence = Math.round(reliability / slots * 100) / 100.0;
+        return new SlotForecast(start, end, slots, coveredSlots, observations, meanPerSlot, expectedVolume,
+                peakSlot, peakSlotMean, confidence);
+    }
+
+    public static int slotOf(LocalDateTime timestamp) {
+        return timestamp.getDayOfWeek().ordinal() * SLOTS_PER_DAY
+                + timestamp.getHour() * 2 + timestamp.getMinute() / SLOT_MINUTES;
+    }
+
+    public static String slotLabel(int slot) {
+        DayOfWeek day = DayOfWeek.values()[slot / SLOTS_PER_DAY];
+        return day + " " + LocalTime.MIN.plusMinutes((long) SLOT_MINUTES * (slot % SLOTS_PER_DAY));
+    }
+
+    static LocalDateTime truncateToSlot(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.HOURS).plusMinutes(timestamp.getMinute() / SLOT_MINUTES * SLOT_MINUTES);
+    }
+
+    // Welford's update, so mean and variance stay numerically stable over years of samples.
+    private void add(int slot, int carCount) {
+        long n = ++counts[slot];
+        double delta = carCount - means[slot];
+        means[slot] += delta / n;
+        squaredDeviations[slot] += delta * (carCount - means[slot]);
+    }
+
+    // Welford's update in reverse.
+    private void remove(int slot, int carCount) {
+        long n = counts[slot];
+        if (n == 0) {
+            return;
+        }
+        if (n == 1) {
+            counts[slot] = 0;
+            means[slot] = 0;
+            squaredDeviations[slot] = 0;
+            return;
+        }
+        double mean = means[slot];
+        double previousMean = (n * mean - carCount) / (n - 1);
+        squaredDeviations[slot] = Math.max(0, squaredDeviations[slot] - (carCount - previousMean) * (carCount - mean));
+        means[slot] = previousMean;
+        counts[slot] = n - 1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import java.time.LocalDateTime;
+
+// Seasonal estimate for a window, aggregated over the half-hour slots it covers. Slots without any history
+// contribute to slots but not to coveredSlots, and lower the confidence.
+public record SlotForecast(
+        LocalDateTime start,
+        LocalDateTime end,
+        long slots,
+        long coveredSlots,
+        long observations,
+        double meanPerSlot,
+        double expectedVolume,
+        int peakSlot,
+        double peakSlotMean,
+        double confidence) {
+
+    public boolean hasData() {
+        return coveredSlots > 0;
+    }
+}
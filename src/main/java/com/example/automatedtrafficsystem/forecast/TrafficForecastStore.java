@@ -0,0 +1,89 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.config.SchedulingConfig;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_DAY;
+
+// Precomputed Holt-Winters forecasts for the next days of half-hour slots. Ingests only mark the store stale;
+// a scheduled refresh then takes a new snapshot off the request path, so predictions inside it are a sum over
+// stored slots. Between an ingest and the next refresh lookups see the previous snapshot.
+@Slf4j
+@Component
+public class TrafficForecastStore {
+
+    static final int MAX_DAYS = HoltWintersTrafficForecaster.MAX_HORIZON_SLOTS / SLOTS_PER_DAY;
+
+    private final HoltWintersTrafficForecaster holtWintersTrafficForecaster;
+    private final int horizonSlots;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    @Nullable
+    private volatile HoltWintersSnapshot snapshot;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer refreshTimer;
+
+    public TrafficForecastStore(HoltWintersTrafficForecaster holtWintersTrafficForecaster,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.forecast.precompute.days:7}") int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Forecast precompute days must be between 1 and " + MAX_DAYS);
+        }
+        this.holtWintersTrafficForecaster = holtWintersTrafficForecaster;
+        this.horizonSlots = days * SLOTS_PER_DAY;
+        this.hits = Counter.builder("traffic.forecast.store.lookups").tag("result", "hit")
+                .description("Predictions answered from the precomputed forecasts").register(meterRegistry);
+        this.misses = Counter.builder("traffic.forecast.store.lookups").tag("result", "miss")
+                .description("Predictions outside the precomputed forecasts, computed on demand").register(meterRegistry);
+        this.refreshTimer = Timer.builder("traffic.forecast.store.refresh")
+                .description("Time to precompute the forecast snapshot").register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.forecast.precompute.interval:PT10S}",
+            scheduler = SchedulingConfig.SHORT_TASK_SCHEDULER)
+    public void refreshIfStale() {
+        if (stale.getAndSet(false)) {
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        snapshot = refreshTimer.record(() -> holtWintersTrafficForecaster.snapshot(horizonSlots).orElse(null));
+        log.debug("Precomputed forecasts {}", snapshot != null ? "from " + snapshot.firstSlot() : "not available yet");
+    }
+
+    // Empty when the window is not inside the current snapshot; callers compute those on demand.
+    public Optional<HoltWintersForecast> forecast(LocalDateTime start, LocalDateTime end) {
+        HoltWintersSnapshot current = snapshot;
+        Optional<HoltWintersForecast> forecast = current != null ? current.forecast(start, end) : Optional.empty();
+        (forecast.isPresent() ? hits : misses).increment();
+        return forecast;
+    }
+
+    // The current snapshot when it reaches the end of [start, end), so a batch of windows can be answered from it.
+    public Optional<HoltWintersSnapshot> snapshotCovering(LocalDateTime start, LocalDateTime end) {
+        HoltWintersSnapshot current = snapshot;
+        boolean covers = current != null
+                && HoltWintersSnapshot.lastStep(current.firstSlot(), start, end) <= current.horizon().steps();
+        (covers ? hits : misses).increment();
+        return covers ? Optional.of(current) : Optional.empty();
+    }
+}
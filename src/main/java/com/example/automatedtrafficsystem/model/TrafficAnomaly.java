@@ -0,0 +1,51 @@
+package com.example.automatedtrafficsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "traffic_anomaly")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrafficAnomaly {
+
+    public enum Type {
+        SPIKE, DROP
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "car_count", nullable = false)
+    private int carCount;
+
+    @Column(name = "expected_count", nullable = false)
+    private double expectedCount;
+
+    @Column(name = "standard_deviation", nullable = false)
+    private double standardDeviation;
+
+    // Standard deviations from the expected count; negative for drops.
+    @Column(name = "z_score", nullable = false)
+    private double score;
+
+    // Plain VARCHAR on every database; H2 would otherwise expect its native ENUM type.
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "anomaly_type", nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+}
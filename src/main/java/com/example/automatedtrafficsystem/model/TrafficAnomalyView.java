@@ -0,0 +1,19 @@
+package com.example.automatedtrafficsystem.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Read-only row for the anomalies endpoint, built by a JPQL constructor expression like TrafficDataView.
+// Serialises with the same fields as TrafficAnomaly.
+@Value
+public class TrafficAnomalyView {
+    Long id;
+    LocalDateTime timestamp;
+    int carCount;
+    double expectedCount;
+    double standardDeviation;
+    double score;
+    TrafficAnomaly.Type type;
+    LocalDateTime detectedAt;
+}
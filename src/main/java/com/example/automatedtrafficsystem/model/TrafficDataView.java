@@ -0,0 +1,15 @@
+package com.example.automatedtrafficsystem.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Read-only row for the query endpoints, built by JPQL constructor expressions so reads skip entity
+// hydration and dirty-checking. Serialises with the same fields as TrafficData.
+@Value
+public class TrafficDataView {
+    Long id;
+    LocalDateTime timestamp;
+    Integer carCount;
+    LocalDateTime createdAt;
+}
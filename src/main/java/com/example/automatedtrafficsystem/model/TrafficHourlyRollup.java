@@ -0,0 +1,44 @@
+package com.example.automatedtrafficsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "traffic_hourly_rollup")
+@Data
+@NoArgsConstructor
+public class TrafficHourlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hour_start", nullable = false, unique = true)
+    private LocalDateTime hourStart;
+
+    @Column(name = "record_count", nullable = false)
+    private int recordCount;
+
+    @Column(name = "total_cars", nullable = false)
+    private long totalCars;
+
+    @Column(name = "min_cars", nullable = false)
+    private int minCars;
+
+    @Column(name = "max_cars", nullable = false)
+    private int maxCars;
+
+    public TrafficHourlyRollup(LocalDateTime hourStart) {
+        this.hourStart = hourStart;
+        this.minCars = Integer.MAX_VALUE;
+    }
+
+    public void add(int carCount) {
+        recordCount++;
+        totalCars += carCount;
+        minCars = Math.min(minCars, carCount);
+        maxCars = Math.max(maxCars, carCount);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.automatedtrafficsystem.model;
+
+import java.time.LocalDateTime;
+
+public record TrafficSample(LocalDateTime timestamp, int carCount) {
+
+    public static TrafficSample of(TrafficData trafficData) {
+        return new TrafficSample(trafficData.getTimestamp(), trafficData.getCarCount());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.automatedtrafficsystem.repository;
+
+import com.example.automatedtrafficsystem.model.TrafficAnomaly;
+import com.example.automatedtrafficsystem.model.TrafficAnomalyView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TrafficAnomalyRepository extends JpaRepository<TrafficAnomaly, Long> {
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficAnomalyView(a.id, a.timestamp, a.carCount,
+            a.expectedCount, a.standardDeviation, a.score, a.type, a.detectedAt)
+        FROM TrafficAnomaly a
+        WHERE a.timestamp >= :start AND a.timestamp < :end
+        ORDER BY a.timestamp DESC, a.id DESC
+        """)
+    List<TrafficAnomalyView> findViewsBetweenNewestFirst(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable
+    );
+}
@@ -1,15 +1,22 @@
 package com.example.automatedtrafficsystem.repository;
 
 import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficDataView;
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TrafficDataRepository extends JpaRepository<TrafficData, Long> {
@@ -20,14 +27,109 @@ public interface TrafficDataRepository extends JpaRepository<TrafficData, Long>
     @Override
     Optional<TrafficData> findById(Long id);
     
-    List<TrafficData> findByTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(
-            LocalDateTime startDate,
-            LocalDateTime endDate
+    List<TrafficData> findByTimestampLessThanOrderByTimestampAsc(LocalDateTime cutoff, Pageable pageable);
+
+    @Query(value = """
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        """, countQuery = "SELECT COUNT(t) FROM TrafficData t")
+    Page<TrafficDataView> findAllViews(Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t WHERE t.id = :id
+        """)
+    Optional<TrafficDataView> findViewById(@Param("id") Long id);
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        ORDER BY t.timestamp ASC
+        """)
+    List<TrafficDataView> findAllViewsOrderByTimestamp();
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        ORDER BY t.timestamp ASC
+        """)
+    List<TrafficDataView> findViewsBetweenOrderByTimestamp(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
     );
-    
-    List<TrafficData> findTop3ByOrderByCarCountDesc();
 
-    List<TrafficData> findAllByOrderByTimestampAsc();
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        ORDER BY t.carCount DESC
+        """)
+    List<TrafficDataView> findViewsOrderByCarCountDesc(Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        ORDER BY t.carCount DESC
+        """)
+    List<TrafficDataView> findViewsBetweenOrderByCarCountDesc(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable
+    );
+
+    // Forward-only cursor for bulk export; must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        ORDER BY t.timestamp ASC
+        """)
+    Stream<TrafficDataView> streamViewsBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficSample(t.timestamp, t.carCount)
+        FROM TrafficData t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        ORDER BY t.timestamp ASC
+        """)
+    Stream<TrafficSample> streamSamplesBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    // Keyset pages: the redundant range predicate lets the database seek on the timestamp index
+    // instead of filtering the OR; id only breaks ties.
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        WHERE t.timestamp >= :timestamp
+          AND (t.timestamp > :timestamp OR t.id > :id)
+        ORDER BY t.timestamp ASC, t.id ASC
+        """)
+    List<TrafficDataView> findPageAfter(
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficDataView(t.id, t.timestamp, t.carCount, t.createdAt)
+        FROM TrafficData t
+        WHERE t.timestamp <= :timestamp
+          AND (t.timestamp < :timestamp OR t.id < :id)
+        ORDER BY t.timestamp DESC, t.id DESC
+        """)
+    List<TrafficDataView> findPageBefore(
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") long id,
+            Pageable pageable
+    );
 
     Optional<TrafficData> findByTimestamp(LocalDateTime timestamp);
 
@@ -44,6 +146,70 @@ public interface TrafficDataRepository extends JpaRepository<TrafficData, Long>
         """, nativeQuery = true)
     List<DailyTrafficTotalView> findDailyTrafficTotals();
 
+    @Query("""
+        SELECT COALESCE(SUM(t.carCount), 0) FROM TrafficData t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        """)
+    long getTotalCarsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(value = """
+        SELECT CAST(t.timestamp AS DATE) AS trafficDate, SUM(t.car_count) AS totalCars
+        FROM traffic_data t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        GROUP BY CAST(t.timestamp AS DATE)
+        ORDER BY CAST(t.timestamp AS DATE)
+        """, nativeQuery = true)
+    List<DailyTrafficTotalView> findDailyTrafficTotalsBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficSample(t.timestamp, t.carCount)
+        FROM TrafficData t
+        WHERE t.timestamp > :after
+        ORDER BY t.timestamp ASC
+        """)
+    List<TrafficSample> findSamplesAfter(@Param("after") LocalDateTime after, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.automatedtrafficsystem.model.TrafficSample(t.timestamp, t.carCount)
+        FROM TrafficData t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        ORDER BY t.timestamp ASC
+        """)
+    List<TrafficSample> findSamplesBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable
+    );
+
+    @Query("""
+        SELECT EXTRACT(HOUR FROM t.timestamp) AS hour,
+               COUNT(t) AS records,
+               SUM(t.carCount) AS totalCars,
+               MIN(t.carCount) AS minCars,
+               MAX(t.carCount) AS maxCars
+        FROM TrafficData t
+        WHERE t.timestamp >= :start AND t.timestamp < :end
+        GROUP BY EXTRACT(HOUR FROM t.timestamp)
+        """)
+    List<HourlyAggregateView> aggregateByHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT MIN(t.timestamp) FROM TrafficData t")
+    Optional<LocalDateTime> findEarliestTimestamp();
+
+    @Query("SELECT MAX(t.timestamp) FROM TrafficData t")
+    Optional<LocalDateTime> findLatestTimestamp();
+
+    interface HourlyAggregateView {
+        int getHour();
+        long getRecords();
+        long getTotalCars();
+        int getMinCars();
+        int getMaxCars();
+    }
+
     interface DailyTrafficTotalView {
         String getTrafficDate();
         long getTotalCars();
@@ -0,0 +1,62 @@
+package com.example.automatedtrafficsystem.repository;
+
+import com.example.automatedtrafficsystem.model.TrafficHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TrafficHourlyRollupRepository extends JpaRepository<TrafficHourlyRollup, Long> {
+
+    List<TrafficHourlyRollup> findByHourStartIn(Collection<LocalDateTime> hourStarts);
+
+    boolean existsByHourStart(LocalDateTime hourStart);
+
+    @Query("SELECT COALESCE(SUM(r.totalCars), 0) FROM TrafficHourlyRollup r")
+    long getTotalCars();
+
+    @Query("""
+        SELECT COALESCE(SUM(r.totalCars), 0) FROM TrafficHourlyRollup r
+        WHERE r.hourStart >= :start AND r.hourStart < :end
+        """)
+    long getTotalCarsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+        SELECT EXTRACT(HOUR FROM r.hourStart) AS hour,
+               SUM(r.recordCount) AS records,
+               SUM(r.totalCars) AS totalCars,
+               MIN(r.minCars) AS minCars,
+               MAX(r.maxCars) AS maxCars
+        FROM TrafficHourlyRollup r
+        WHERE r.hourStart >= :start AND r.hourStart < :end
+        GROUP BY EXTRACT(HOUR FROM r.hourStart)
+        """)
+    List<TrafficDataRepository.HourlyAggregateView> aggregateByHour(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("SELECT MIN(r.hourStart) FROM TrafficHourlyRollup r")
+    Optional<LocalDateTime> findEarliestHourStart();
+
+    @Query("SELECT MAX(r.hourStart) FROM TrafficHourlyRollup r")
+    Optional<LocalDateTime> findLatestHourStart();
+
+    @Query(value = """
+        SELECT CAST(r.hour_start AS DATE) AS trafficDate, SUM(r.total_cars) AS totalCars
+        FROM traffic_hourly_rollup r
+        WHERE r.hour_start >= :start AND r.hour_start < :end
+        GROUP BY CAST(r.hour_start AS DATE)
+        ORDER BY CAST(r.hour_start AS DATE)
+        """, nativeQuery = true)
+    List<TrafficDataRepository.DailyTrafficTotalView> findDailyTrafficTotalsBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+}
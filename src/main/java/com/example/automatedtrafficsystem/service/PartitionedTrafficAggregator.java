@@ -0,0 +1,148 @@
+package com.example.automatedtrafficsystem.service;
+
+import com.example.automatedtrafficsystem.config.RequestStatementCounter;
+import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.repository.TrafficHourlyRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// Splits a time range into calendar-month partitions and aggregates them concurrently. Every partition
+// runs in its own read-only transaction (and therefore on its own pooled connection) on a virtual
+// thread; the semaphore caps how many connections analytics may hold at once. Compacted hours are read from
+// traffic_hourly_rollup alongside the raw rows, so aggregates cover the same data as the totals.
+@Slf4j
+@Component
+public class PartitionedTrafficAggregator {
+
+    private final TrafficDataRepository trafficDataRepository;
+    private final TrafficHourlyRollupRepository trafficHourlyRollupRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore partitionPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PartitionedTrafficAggregator(
+            TrafficDataRepository trafficDataRepository,
+            TrafficHourlyRollupRepository trafficHourlyRollupRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.analytics.partition-parallelism:4}") int partitionParallelism) {
+        if (partitionParallelism < 1) {
+            throw new IllegalArgumentException("Partition parallelism must be at least 1");
+        }
+        this.trafficDataRepository = trafficDataRepository;
+        this.trafficHourlyRollupRepository = trafficHourlyRollupRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.partitionPermits = new Semaphore(partitionParallelism);
+    }
+
+    public TrafficAggregate aggregate(LocalDateTime start, LocalDateTime end) {
+        List<TimePartition> partitions = monthlyPartitions(start, end);
+        if (partitions.isEmpty()) {
+            return TrafficAggregate.empty();
+        }
+        if (partitions.size() == 1) {
+            return aggregatePartition(partitions.get(0));
+        }
+
+        log.debug("Aggregating {} to {} across {} monthly partitions", start, end, partitions.size());
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        LongAdder statementCount = RequestStatementCounter.current();
+        List<Future<TrafficAggregate>> futures = partitions.stream()
+                .map(partition -> executor.submit(
+                        () -> aggregatePartitionWithPermit(partition, mdcContext, statementCount)))
+                .toList();
+
+        TrafficAggregate result = TrafficAggregate.empty();
+        try {
+            for (Future<TrafficAggregate> future : futures) {
+                result.merge(future.get());
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Partition aggregation failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while aggregating partitions", ex);
+        } finally {
+            // Futures from submit interrupt their worker on cancel, so partitions still waiting for a permit or
+            // running a query stop once one has failed. Completed ones are unaffected.
+            futures.forEach(pending -> pending.cancel(true));
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    static List<TimePartition> monthlyPartitions(LocalDateTime start, LocalDateTime end) {
+        List<TimePartition> partitions = new ArrayList<>();
+        LocalDateTime partitionStart = start;
+        while (partitionStart.isBefore(end)) {
+            LocalDateTime nextMonth = partitionStart.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+            LocalDateTime partitionEnd = nextMonth.isBefore(end) ? nextMonth : end;
+            partitions.add(new TimePartition(partitionStart, partitionEnd));
+            partitionStart = partitionEnd;
+        }
+        return partitions;
+    }
+
+    private TrafficAggregate aggregatePartitionWithPermit(
+            TimePartition partition, Map<String, String> mdcContext, LongAdder statementCount) {
+        if (mdcContext != null) {
+            MDC.setContextMap(mdcContext);
+        }
+        RequestStatementCounter.bind(statementCount);
+        try {
+            partitionPermits.acquire();
+            try {
+                return aggregatePartition(partition);
+            } finally {
+                partitionPermits.release();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a partition permit", ex);
+        } finally {
+            RequestStatementCounter.bind(null);
+            MDC.clear();
+        }
+    }
+
+    private TrafficAggregate aggregatePartition(TimePartition partition) {
+        return readOnlyTransaction.execute(status -> {
+            TrafficAggregate aggregate = TrafficAggregate.empty();
+            addHours(aggregate, trafficDataRepository.aggregateByHour(partition.start(), partition.end()));
+            addHours(aggregate, trafficHourlyRollupRepository.aggregateByHour(partition.start(), partition.end()));
+            return aggregate;
+        });
+    }
+
+    private static void addHours(TrafficAggregate aggregate, List<TrafficDataRepository.HourlyAggregateView> rows) {
+        for (TrafficDataRepository.HourlyAggregateView row : rows) {
+            aggregate.addHour(row.getHour(), row.getRecords(), row.getTotalCars(), row.getMinCars(), row.getMaxCars());
+        }
+    }
+
+    record TimePartition(LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.automatedtrafficsystem.service;
+
+import java.util.OptionalInt;
+
+// Mergeable partial aggregate (count, sum, min, max and hour-of-day buckets) for one time partition.
+public class TrafficAggregate {
+
+    private static final int HOURS_PER_DAY = 24;
+
+    private long recordCount;
+    private long totalCars;
+    private int minCars = Integer.MAX_VALUE;
+    private int maxCars = Integer.MIN_VALUE;
+    private final long[] hourlyRecords = new long[HOURS_PER_DAY];
+    private final long[] hourlyCars = new long[HOURS_PER_DAY];
+
+    public static TrafficAggregate empty() {
+        return new TrafficAggregate();
+    }
+
+    public void addHour(int hour, long records, long cars, int min, int max) {
+        if (records == 0) {
+            return;
+        }
+        hourlyRecords[hour] += records;
+        hourlyCars[hour] += cars;
+        recordCount += records;
+        totalCars += cars;
+        minCars = Math.min(minCars, min);
+        maxCars = Math.max(maxCars, max);
+    }
+
+    public TrafficAggregate merge(TrafficAggregate other) {
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            hourlyRecords[hour] += other.hourlyRecords[hour];
+            hourlyCars[hour] += other.hourlyCars[hour];
+        }
+        recordCount += other.recordCount;
+        totalCars += other.totalCars;
+        minCars = Math.min(minCars, other.minCars);
+        maxCars = Math.max(maxCars, other.maxCars);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return recordCount == 0;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getTotalCars() {
+        return totalCars;
+    }
+
+    public int getMinCars() {
+        return isEmpty() ? 0 : minCars;
+    }
+
+    public int getMaxCars() {
+        return isEmpty() ? 0 : maxCars;
+    }
+
+    public double getAverageCars() {
+        return isEmpty() ? 0.0 : (double) totalCars / recordCount;
+    }
+
+    public long getHourlyTotal(int hour) {
+        return hourlyCars[hour];
+    }
+
+    public double getHourlyAverage(int hour) {
+        return hourlyRecords[hour] == 0 ? 0.0 : (double) hourlyCars[hour] / hourlyRecords[hour];
+    }
+
+    public OptionalInt getPeakHour() {
+        int peakHour = -1;
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            if (hourlyRecords[hour] > 0 && (peakHour < 0 || hourlyCars[hour] > hourlyCars[peakHour])) {
+                peakHour = hour;
+            }
+        }
+        return peakHour < 0 ? OptionalInt.empty() : OptionalInt.of(peakHour);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.automatedtrafficsystem.service;
+
+import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficSample;
+
+import java.util.Collection;
+import java.util.List;
+
+// Raw records the retention job rolled up and deleted. Published inside the batch transaction, so index
+// listeners drop them only once the batch has committed.
+public record TrafficDataCompactedEvent(List<TrafficSample> samples) {
+
+    public static TrafficDataCompactedEvent of(Collection<TrafficData> records) {
+        return new TrafficDataCompactedEvent(records.stream().map(TrafficSample::of).toList());
+    }
+}
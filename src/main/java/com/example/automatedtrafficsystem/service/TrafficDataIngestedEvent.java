@@ -0,0 +1,20 @@
+package com.example.automatedtrafficsystem.service;
+
+import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficSample;
+
+import java.util.Collection;
+import java.util.List;
+
+// Index listeners use @TransactionalEventListener(fallbackExecution = true): live ingests are delivered after
+// commit, while the startup replay is published outside of any transaction.
+public record TrafficDataIngestedEvent(List<TrafficSample> samples, boolean replay) {
+
+    public static TrafficDataIngestedEvent of(Collection<TrafficData> records) {
+        return new TrafficDataIngestedEvent(records.stream().map(TrafficSample::of).toList(), false);
+    }
+
+    public static TrafficDataIngestedEvent replay(List<TrafficSample> samples) {
+        return new TrafficDataIngestedEvent(List.copyOf(samples), true);
+    }
+}
@@ -1,27 +1,62 @@
 package com.example.automatedtrafficsystem.service;
 
 import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficDataView;
 import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.automatedtrafficsystem.repository.TrafficHourlyRollupRepository;
+import com.example.automatedtrafficsystem.util.PaginationUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TrafficDataService {
 
+    // Far enough ahead for counters whose local time leads UTC, near enough that a mistyped year is rejected.
+    public static final Duration MAX_FUTURE_SKEW = Duration.ofDays(1);
     private static final int CONTIGUOUS_PERIOD_RECORDS = 3;
+    private static final LocalDateTime UNBOUNDED_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime UNBOUNDED_END = LocalDateTime.of(3000, 1, 1, 0, 0);
+    private static final PageRequest TOP_PERIODS = PageRequest.of(0, 3);
     private final TrafficDataRepository trafficDataRepository;
+    private final TrafficHourlyRollupRepository trafficHourlyRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PartitionedTrafficAggregator partitionedTrafficAggregator;
+    private final Clock clock;
+
+    public TrafficDataService(TrafficDataRepository trafficDataRepository,
+                              TrafficHourlyRollupRepository trafficHourlyRollupRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PartitionedTrafficAggregator partitionedTrafficAggregator) {
+        this(trafficDataRepository, trafficHourlyRollupRepository, eventPublisher, partitionedTrafficAggregator,
+                Clock.systemUTC());
+    }
+
+    TrafficDataService(TrafficDataRepository trafficDataRepository,
+                       TrafficHourlyRollupRepository trafficHourlyRollupRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       PartitionedTrafficAggregator partitionedTrafficAggregator,
+                       Clock clock) {
+        this.trafficDataRepository = trafficDataRepository;
+        this.trafficHourlyRollupRepository = trafficHourlyRollupRepository;
+        this.eventPublisher = eventPublisher;
+        this.partitionedTrafficAggregator = partitionedTrafficAggregator;
+        this.clock = clock;
+    }
 
     @Transactional
     public TrafficData saveTrafficData(LocalDateTime timestamp, int carCount) {
@@ -33,94 +68,159 @@ public class TrafficDataService {
         if (carCount < 0) {
             throw new IllegalArgumentException("Car count cannot be negative");
         }
+        if (isTooFarAhead(timestamp)) {
+            throw new IllegalArgumentException("Timestamp is too far in the future: " + timestamp);
+        }
         if (trafficDataRepository.existsByTimestamp(timestamp)) {
             throw new IllegalArgumentException("Traffic data already exists for timestamp: " + timestamp);
         }
+        if (isCompacted(timestamp)) {
+            throw new IllegalArgumentException("Traffic data for timestamp has already been compacted: " + timestamp);
+        }
 
         TrafficData trafficData = new TrafficData();
         trafficData.setTimestamp(timestamp);
         trafficData.setCarCount(carCount);
 
-        return trafficDataRepository.save(trafficData);
+        TrafficData savedData = trafficDataRepository.save(trafficData);
+        eventPublisher.publishEvent(TrafficDataIngestedEvent.of(List.of(savedData)));
+        return savedData;
     }
 
     @Transactional(readOnly = true)
     public long getTotalCars() {
         log.debug("Calculating total number of cars");
-        return trafficDataRepository.getTotalCars();
+        return trafficDataRepository.getTotalCars() + trafficHourlyRollupRepository.getTotalCars();
+    }
+
+    @Transactional(readOnly = true)
+    public long getTotalCars(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (isUnbounded(from, to)) {
+            return getTotalCars();
+        }
+        log.debug("Calculating total number of cars - From: {}, To: {}", from, to);
+        LocalDateTime start = rangeStart(from);
+        LocalDateTime end = rangeEnd(to);
+        return trafficDataRepository.getTotalCarsBetween(start, end)
+                + trafficHourlyRollupRepository.getTotalCarsBetween(start, end);
     }
 
     @Transactional(readOnly = true)
     public Map<LocalDate, Long> getDailyCarCounts() {
         log.debug("Retrieving daily car counts");
+        return toDailyCounts(
+                trafficDataRepository.findDailyTrafficTotals(),
+                trafficHourlyRollupRepository.findDailyTrafficTotalsBetween(UNBOUNDED_START, UNBOUNDED_END));
+    }
 
-        TreeMap<LocalDate, Long> result = new TreeMap<>();
-        for (TrafficDataRepository.DailyTrafficTotalView row : trafficDataRepository.findDailyTrafficTotals()) {
-            result.put(LocalDate.parse(row.getTrafficDate()), row.getTotalCars());
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Long> getDailyCarCounts(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (isUnbounded(from, to)) {
+            return getDailyCarCounts();
         }
-        return result;
+        log.debug("Retrieving daily car counts - From: {}, To: {}", from, to);
+        LocalDateTime start = rangeStart(from);
+        LocalDateTime end = rangeEnd(to);
+        return toDailyCounts(
+                trafficDataRepository.findDailyTrafficTotalsBetween(start, end),
+                trafficHourlyRollupRepository.findDailyTrafficTotalsBetween(start, end));
     }
 
     @Transactional(readOnly = true)
-    public List<TrafficData> getTopThreeHalfHours() {
+    public List<TrafficDataView> getTopThreeHalfHours() {
         log.debug("Retrieving top three half-hour periods with most cars");
-        return trafficDataRepository.findTop3ByOrderByCarCountDesc();
+        return trafficDataRepository.findViewsOrderByCarCountDesc(TOP_PERIODS);
     }
 
     @Transactional(readOnly = true)
-    public Optional<TrafficData> getTrafficDataById(Long id) {
+    public List<TrafficDataView> getTopThreeHalfHours(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (isUnbounded(from, to)) {
+            return getTopThreeHalfHours();
+        }
+        log.debug("Retrieving top three half-hour periods with most cars - From: {}, To: {}", from, to);
+        return trafficDataRepository.findViewsBetweenOrderByCarCountDesc(rangeStart(from), rangeEnd(to), TOP_PERIODS);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TrafficDataView> getTrafficDataById(Long id) {
         log.debug("Retrieving traffic data by id: {}", id);
-        return trafficDataRepository.findById(id);
+        return trafficDataRepository.findViewById(id);
     }
 
     @Transactional(readOnly = true)
-    public Page<TrafficData> getAllTrafficData(Pageable pageable) {
+    public Page<TrafficDataView> getAllTrafficData(Pageable pageable) {
         log.debug("Retrieving paginated traffic data - Page: {}, Size: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
-        return trafficDataRepository.findAll(pageable);
+        return trafficDataRepository.findAllViews(pageable);
     }
 
+    // Returns up to size + 1 rows following the cursor so callers can tell whether another page exists
+    // without a count query.
     @Transactional(readOnly = true)
+    public List<TrafficDataView> getTrafficDataAfter(@Nullable PaginationUtil.Cursor after, int size, boolean ascending) {
+        log.debug("Retrieving keyset page - After: {}, Size: {}, Ascending: {}", after, size, ascending);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        if (ascending) {
+            PaginationUtil.Cursor from = after != null ? after : new PaginationUtil.Cursor(UNBOUNDED_START, Long.MIN_VALUE);
+            return trafficDataRepository.findPageAfter(from.timestamp(), from.id(), limit);
+        }
+        PaginationUtil.Cursor from = after != null ? after : new PaginationUtil.Cursor(UNBOUNDED_END, Long.MAX_VALUE);
+        return trafficDataRepository.findPageBefore(from.timestamp(), from.id(), limit);
+    }
+
+    // Not transactional: the partitioned aggregation borrows connections of its own, and a connection held
+    // here for the whole call could leave its workers waiting on an exhausted pool.
     public Map<String, Object> getTrafficStatistics() {
         log.debug("Generating traffic statistics");
 
-        List<TrafficData> allData = trafficDataRepository.findAll();
-        long totalCars = trafficDataRepository.getTotalCars();
+        // Raw rows and rollups alike, so every figure below describes the same data.
+        Optional<LocalDateTime> earliest = earlierOf(trafficDataRepository.findEarliestTimestamp(),
+                trafficHourlyRollupRepository.findEarliestHourStart());
+        TrafficAggregate aggregate = earliest
+                .map(start -> partitionedTrafficAggregator.aggregate(start, laterOf(
+                        trafficDataRepository.findLatestTimestamp(),
+                        trafficHourlyRollupRepository.findLatestHourStart()).orElse(start).plusDays(1)))
+                .orElseGet(TrafficAggregate::empty);
+        long totalCars = aggregate.getTotalCars();
         double averageCarsPerDay = getDailyCarCounts().values().stream()
                 .mapToLong(Long::longValue)
                 .average()
                 .orElse(0.0);
 
-        Map<Integer, Integer> hourlyDistribution = allData.stream()
-                .collect(Collectors.groupingBy(
-                        data -> data.getTimestamp().getHour(),
-                        Collectors.summingInt(TrafficData::getCarCount)
-                ));
-
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalCars", totalCars);
         stats.put("averageCarsPerDay", averageCarsPerDay);
-        stats.put("totalRecords", allData.size());
+        stats.put("totalRecords", aggregate.getRecordCount());
 
-        hourlyDistribution.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .ifPresent(peakHour -> {
-                    stats.put("peakHour", String.format("%02d:00 - %02d:59", peakHour.getKey(), peakHour.getKey()));
-                    stats.put("carsInPeakHour", peakHour.getValue());
-                });
+        aggregate.getPeakHour().ifPresent(peakHour -> {
+            stats.put("peakHour", String.format("%02d:00 - %02d:59", peakHour, peakHour));
+            stats.put("carsInPeakHour", aggregate.getHourlyTotal(peakHour));
+        });
 
         return stats;
     }
 
     @Transactional(readOnly = true)
-    public List<TrafficData> findLeastCarsContiguousPeriod() {
-        List<TrafficData> allData = trafficDataRepository.findAllByOrderByTimestampAsc();
+    public List<TrafficDataView> findLeastCarsContiguousPeriod() {
+        return findLeastCarsContiguousPeriod(trafficDataRepository.findAllViewsOrderByTimestamp());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TrafficDataView> findLeastCarsContiguousPeriod(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (isUnbounded(from, to)) {
+            return findLeastCarsContiguousPeriod();
+        }
+        return findLeastCarsContiguousPeriod(
+                trafficDataRepository.findViewsBetweenOrderByTimestamp(rangeStart(from), rangeEnd(to)));
+    }
+
+    private List<TrafficDataView> findLeastCarsContiguousPeriod(List<TrafficDataView> allData) {
         if (allData.size() < CONTIGUOUS_PERIOD_RECORDS) {
             return List.copyOf(allData);
         }
 
         int minSum = Integer.MAX_VALUE;
-        List<TrafficData> minWindow = List.of();
+        List<TrafficDataView> minWindow = List.of();
 
         for (int i = 0; i <= allData.size() - CONTIGUOUS_PERIOD_RECORDS; i++) {
             if (!isThirtyMinuteContiguousWindow(allData, i)) {
@@ -178,12 +278,19 @@ public class TrafficDataService {
             if (carCount < 0) {
                 throw new IllegalArgumentException("Car count cannot be negative at line " + (index + 1));
             }
+            if (isTooFarAhead(timestamp)) {
+                throw new IllegalArgumentException("Timestamp is too far in the future at line " + (index + 1) + ": " + timestamp);
+            }
             if (!fileTimestamps.add(timestamp)) {
                 throw new IllegalArgumentException("Duplicate timestamp found in file at line " + (index + 1) + ": " + timestamp);
             }
             if (trafficDataRepository.existsByTimestamp(timestamp)) {
                 throw new IllegalArgumentException("Traffic data already exists for timestamp: " + timestamp);
             }
+            if (isCompacted(timestamp)) {
+                throw new IllegalArgumentException("Traffic data for timestamp has already been compacted at line "
+                        + (index + 1) + ": " + timestamp);
+            }
 
             TrafficData trafficData = new TrafficData();
             trafficData.setTimestamp(timestamp);
@@ -196,9 +303,55 @@ public class TrafficDataService {
         }
 
         trafficDataRepository.saveAll(recordsToSave);
+        eventPublisher.publishEvent(TrafficDataIngestedEvent.of(recordsToSave));
+    }
+
+    // Days compacted by the retention job live in hourly rollups; a day at the cutoff can appear in both.
+    private Map<LocalDate, Long> toDailyCounts(List<TrafficDataRepository.DailyTrafficTotalView> rawRows,
+                                               List<TrafficDataRepository.DailyTrafficTotalView> rollupRows) {
+        TreeMap<LocalDate, Long> result = new TreeMap<>();
+        for (TrafficDataRepository.DailyTrafficTotalView row : rollupRows) {
+            result.merge(LocalDate.parse(row.getTrafficDate()), row.getTotalCars(), Long::sum);
+        }
+        for (TrafficDataRepository.DailyTrafficTotalView row : rawRows) {
+            result.merge(LocalDate.parse(row.getTrafficDate()), row.getTotalCars(), Long::sum);
+        }
+        return result;
+    }
+
+    private static Optional<LocalDateTime> earlierOf(Optional<LocalDateTime> first, Optional<LocalDateTime> second) {
+        return first.isEmpty() || second.isPresent() && second.get().isBefore(first.get()) ? second : first;
+    }
+
+    private static Optional<LocalDateTime> laterOf(Optional<LocalDateTime> first, Optional<LocalDateTime> second) {
+        return first.isEmpty() || second.isPresent() && second.get().isAfter(first.get()) ? second : first;
+    }
+
+    private boolean isTooFarAhead(LocalDateTime timestamp) {
+        return timestamp.isAfter(LocalDateTime.now(clock).plus(MAX_FUTURE_SKEW));
+    }
+
+    // The hour was rolled up by the retention job; a new raw row would be counted on top of its rollup.
+    private boolean isCompacted(LocalDateTime timestamp) {
+        return trafficHourlyRollupRepository.existsByHourStart(timestamp.truncatedTo(ChronoUnit.HOURS));
+    }
+
+    private boolean isUnbounded(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must be before or equal to to date");
+        }
+        return from == null && to == null;
+    }
+
+    private LocalDateTime rangeStart(@Nullable LocalDate from) {
+        return from != null ? from.atStartOfDay() : UNBOUNDED_START;
+    }
+
+    private LocalDateTime rangeEnd(@Nullable LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : UNBOUNDED_END;
     }
 
-    private boolean isThirtyMinuteContiguousWindow(List<TrafficData> allData, int start) {
+    private boolean isThirtyMinuteContiguousWindow(List<TrafficDataView> allData, int start) {
         return allData.get(start).getTimestamp().plusMinutes(30).equals(allData.get(start + 1).getTimestamp())
                 && allData.get(start + 1).getTimestamp().plusMinutes(30).equals(allData.get(start + 2).getTimestamp());
     }
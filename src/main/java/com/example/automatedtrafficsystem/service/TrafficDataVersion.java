@@ -0,0 +1,34 @@
+package com.example.automatedtrafficsystem.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Monotonic version of the stored traffic data, bumped after every committed change. The epoch
+// makes tags from a previous process (or another instance) never match the current one.
+@Component
+public class TrafficDataVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        if (!event.replay()) {
+            increment();
+        }
+    }
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public String tag() {
+        return Long.toString(epoch, 36) + "-" + version.get();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.automatedtrafficsystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+// Keeps monthly traffic_data partitions created ahead of time on PostgreSQL (see V4 migration), so
+// inserts never land in the default partition. Disabled on H2, where the table stays flat.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.partitioning.enabled", havingValue = "true")
+public class TrafficPartitionMaintainer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+
+    public TrafficPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                      @Value("${app.partitioning.months-ahead:3}") int monthsAhead) {
+        this(jdbcTemplate, Clock.systemUTC(), monthsAhead);
+    }
+
+    TrafficPartitionMaintainer(JdbcTemplate jdbcTemplate, Clock clock, int monthsAhead) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("Months ahead must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureFuturePartitions();
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 15 3 * * *}", zone = "UTC")
+    public void ensureFuturePartitions() {
+        LocalDate currentMonth = LocalDate.now(clock).withDayOfMonth(1);
+        LocalDate lastMonth = currentMonth.plusMonths(monthsAhead);
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT ensure_traffic_data_partitions(?, ?)", Integer.class, currentMonth, lastMonth);
+        if (created != null && created > 0) {
+            log.info("Created {} traffic_data partitions up to {}", created, lastMonth);
+        } else {
+            log.debug("traffic_data partitions already exist up to {}", lastMonth);
+        }
+    }
+}
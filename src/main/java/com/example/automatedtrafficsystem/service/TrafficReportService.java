@@ -1,6 +1,6 @@
 package com.example.automatedtrafficsystem.service;
 
-import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficDataView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -35,8 +35,8 @@ public class TrafficReportService {
                 );
 
         report.append("\nTop 3 half hours with most cars:\n");
-        List<TrafficData> topThree = trafficDataService.getTopThreeHalfHours();
-        for (TrafficData data : topThree) {
+        List<TrafficDataView> topThree = trafficDataService.getTopThreeHalfHours();
+        for (TrafficDataView data : topThree) {
             report.append(data.getTimestamp())
                   .append(" ")
                   .append(data.getCarCount())
@@ -44,8 +44,8 @@ public class TrafficReportService {
         }
 
         report.append("\n1.5 hour period with least cars (3 contiguous half-hour records):\n");
-        List<TrafficData> leastCarsPeriod = trafficDataService.findLeastCarsContiguousPeriod();
-        for (TrafficData data : leastCarsPeriod) {
+        List<TrafficDataView> leastCarsPeriod = trafficDataService.findLeastCarsContiguousPeriod();
+        for (TrafficDataView data : leastCarsPeriod) {
             report.append(data.getTimestamp())
                   .append(" ")
                   .append(data.getCarCount())
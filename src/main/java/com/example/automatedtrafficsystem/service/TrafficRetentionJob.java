@@ -0,0 +1,192 @@
+package com.example.automatedtrafficsystem.service;
+
+import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficHourlyRollup;
+import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.repository.TrafficHourlyRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Compacts raw rows older than the retention age into hourly rollups and deletes them. Each batch is
+// its own short transaction followed by a pause, so the job never holds locks or a connection for long.
+// The in-memory indexes drop the compacted rows when a batch commits, and ingest refuses records for
+// hours that already have a rollup, so nothing is counted both raw and rolled up.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.retention.enabled", havingValue = "true")
+public class TrafficRetentionJob {
+
+    private final TrafficDataRepository trafficDataRepository;
+    private final TrafficHourlyRollupRepository trafficHourlyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TrafficDataVersion trafficDataVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxBatchesPerRun;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastCutoffEpochSecond = new AtomicLong();
+    private final Counter rowsCompacted;
+    private final Counter rollupsWritten;
+    private final Timer batchTimer;
+
+    public TrafficRetentionJob(TrafficDataRepository trafficDataRepository,
+                               TrafficHourlyRollupRepository trafficHourlyRollupRepository,
+                               PlatformTransactionManager transactionManager,
+                               TrafficDataVersion trafficDataVersion,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.retention.max-age:365d}") Duration maxAge,
+                               @Value("${app.retention.batch-size:1000}") int batchSize,
+                               @Value("${app.retention.batch-pause:200ms}") Duration batchPause,
+                               @Value("${app.retention.max-batches-per-run:500}") int maxBatchesPerRun) {
+        this(trafficDataRepository, trafficHourlyRollupRepository, transactionManager, trafficDataVersion,
+                eventPublisher, meterRegistry, Clock.systemUTC(), maxAge, batchSize, batchPause, maxBatchesPerRun);
+    }
+
+    TrafficRetentionJob(TrafficDataRepository trafficDataRepository,
+                        TrafficHourlyRollupRepository trafficHourlyRollupRepository,
+                        PlatformTransactionManager transactionManager,
+                        TrafficDataVersion trafficDataVersion,
+                        ApplicationEventPublisher eventPublisher,
+                        MeterRegistry meterRegistry,
+                        Clock clock,
+                        Duration maxAge,
+                        int batchSize,
+                        Duration batchPause,
+                        int maxBatchesPerRun) {
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("Retention max age must be positive");
+        }
+        if (batchSize < 1 || maxBatchesPerRun < 1) {
+            throw new IllegalArgumentException("Retention batch size and batches per run must be at least 1");
+        }
+        this.trafficDataRepository = trafficDataRepository;
+        this.trafficHourlyRollupRepository = trafficHourlyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.trafficDataVersion = trafficDataVersion;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.rowsCompacted = Counter.builder("traffic.retention.rows.compacted")
+                .description("Raw traffic rows rolled up into hourly rollups and deleted")
+                .register(meterRegistry);
+        this.rollupsWritten = Counter.builder("traffic.retention.rollups.written")
+                .description("Hourly rollup rows inserted or updated by the retention job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("traffic.retention.batch")
+                .description("Duration of a single retention batch transaction")
+                .register(meterRegistry);
+        meterRegistry.gauge("traffic.retention.cutoff", lastCutoffEpochSecond);
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 30 2 * * *}", zone = "UTC")
+    public void runScheduled() {
+        compactExpiredData();
+    }
+
+    public long compactExpiredData() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Retention run skipped because a previous run is still in progress");
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now(clock).minus(maxAge).truncatedTo(ChronoUnit.HOURS);
+            lastCutoffEpochSecond.set(cutoff.toEpochSecond(ZoneOffset.UTC));
+
+            long compacted = 0;
+            int batches = 0;
+            while (batches < maxBatchesPerRun) {
+                Timer.Sample sample = Timer.start();
+                BatchResult result = transactionTemplate.execute(status -> compactBatch(cutoff));
+                sample.stop(batchTimer);
+                if (result == null || result.rows() == 0) {
+                    break;
+                }
+                trafficDataVersion.increment();
+                rowsCompacted.increment(result.rows());
+                rollupsWritten.increment(result.rollups());
+                compacted += result.rows();
+                batches++;
+                if (result.rows() < batchSize || !pauseBetweenBatches()) {
+                    break;
+                }
+            }
+
+            log.info("Retention compacted {} traffic records older than {} in {} batches", compacted, cutoff, batches);
+            return compacted;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BatchResult compactBatch(LocalDateTime cutoff) {
+        List<TrafficData> expired = trafficDataRepository.findByTimestampLessThanOrderByTimestampAsc(
+                cutoff, PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        Set<LocalDateTime> hourStarts = expired.stream()
+                .map(data -> data.getTimestamp().truncatedTo(ChronoUnit.HOURS))
+                .collect(Collectors.toSet());
+        Map<LocalDateTime, TrafficHourlyRollup> rollups = new HashMap<>();
+        for (TrafficHourlyRollup existing : trafficHourlyRollupRepository.findByHourStartIn(hourStarts)) {
+            rollups.put(existing.getHourStart(), existing);
+        }
+        for (TrafficData data : expired) {
+            rollups.computeIfAbsent(data.getTimestamp().truncatedTo(ChronoUnit.HOURS), TrafficHourlyRollup::new)
+                    .add(data.getCarCount());
+        }
+
+        trafficHourlyRollupRepository.saveAll(rollups.values());
+        trafficDataRepository.deleteAllByIdInBatch(expired.stream().map(TrafficData::getId).toList());
+        eventPublisher.publishEvent(TrafficDataCompactedEvent.of(expired));
+        return new BatchResult(expired.size(), rollups.size());
+    }
+
+    private boolean pauseBetweenBatches() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Retention run interrupted; remaining records will be compacted on the next run");
+            return false;
+        }
+    }
+
+    private record BatchResult(int rows, int rollups) {
+    }
+}
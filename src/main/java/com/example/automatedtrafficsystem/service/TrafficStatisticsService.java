@@ -0,0 +1,70 @@
+package com.example.automatedtrafficsystem.service;
+
+import com.example.automatedtrafficsystem.model.TrafficAnomalyView;
+import com.example.automatedtrafficsystem.repository.TrafficAnomalyRepository;
+import com.example.automatedtrafficsystem.repository.TrafficHourlyRollupRepository;
+import com.example.automatedtrafficsystem.stats.DailyTrafficIndex;
+import com.example.automatedtrafficsystem.stats.SlotCoverageIndex;
+import com.example.automatedtrafficsystem.stats.TrafficCompletenessReport;
+import com.example.automatedtrafficsystem.stats.TrafficHeatmap;
+import com.example.automatedtrafficsystem.stats.TrafficPercentileStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrafficStatisticsService {
+
+    private static final LocalDateTime UNBOUNDED_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime UNBOUNDED_END = LocalDateTime.of(3000, 1, 1, 0, 0);
+
+    private final DailyTrafficIndex dailyTrafficIndex;
+    private final SlotCoverageIndex slotCoverageIndex;
+    private final TrafficAnomalyRepository trafficAnomalyRepository;
+    private final TrafficHourlyRollupRepository trafficHourlyRollupRepository;
+
+    public TrafficPercentileStatistics getPercentileStatistics(@Nullable LocalDate from, @Nullable LocalDate to) {
+        log.debug("Computing percentile statistics - From: {}, To: {}", from, to);
+        validateRange(from, to);
+        return dailyTrafficIndex.getPercentileStatistics(from, to);
+    }
+
+    public TrafficHeatmap getHeatmap(@Nullable LocalDate from, @Nullable LocalDate to) {
+        log.debug("Computing traffic heatmap - From: {}, To: {}", from, to);
+        validateRange(from, to);
+        return dailyTrafficIndex.getHeatmap(from, to);
+    }
+
+    public TrafficCompletenessReport getCompleteness(@Nullable LocalDate from, @Nullable LocalDate to) {
+        log.debug("Computing data completeness - From: {}, To: {}", from, to);
+        validateRange(from, to);
+        LocalDateTime compactedBefore = trafficHourlyRollupRepository.findLatestHourStart()
+                .map(hourStart -> hourStart.plusHours(1))
+                .orElse(null);
+        return slotCoverageIndex.getCompleteness(from, to, compactedBefore);
+    }
+
+    // Newest first, so the limit keeps the most recent anomalies in range rather than the oldest ever recorded.
+    public List<TrafficAnomalyView> getAnomalies(@Nullable LocalDate from, @Nullable LocalDate to, int limit) {
+        log.debug("Fetching traffic anomalies - From: {}, To: {}, Limit: {}", from, to, limit);
+        validateRange(from, to);
+        return trafficAnomalyRepository.findViewsBetweenNewestFirst(
+                from != null ? from.atStartOfDay() : UNBOUNDED_START,
+                to != null ? to.plusDays(1).atStartOfDay() : UNBOUNDED_END,
+                PageRequest.of(0, limit));
+    }
+
+    private void validateRange(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must be before or equal to to date");
+        }
+    }
+}
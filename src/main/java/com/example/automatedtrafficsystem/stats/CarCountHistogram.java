@@ -0,0 +1,117 @@
+package com.example.automatedtrafficsystem.stats;
+
+import java.util.Arrays;
+
+// Log-linear (HDR-style) histogram: values below 64 are counted exactly, larger values land in buckets
+// whose width is at most 1/32 of their magnitude. Histograms are mergeable, so partial results computed
+// per day can be combined into arbitrary ranges without revisiting the raw data.
+public class CarCountHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int EXACT_LIMIT_EXPONENT = SUB_BUCKET_BITS + 1;
+
+    private long[] counts = new long[EXACT_LIMIT];
+    private long totalCount;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public void record(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Car count cannot be negative");
+        }
+        int index = bucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(CarCountHistogram other) {
+        if (other.totalCount == 0) {
+            return;
+        }
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public int valueAtQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, Math.max(min, representativeValue(i)));
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public int getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public int getMax() {
+        return totalCount == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    static int bucketIndex(int value) {
+        if (value < EXACT_LIMIT) {
+            return value;
+        }
+        int exponent = 31 - Integer.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (value >> shift) - SUB_BUCKET_COUNT;
+        return EXACT_LIMIT + (exponent - EXACT_LIMIT_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int offset = index - EXACT_LIMIT;
+        int shift = EXACT_LIMIT_EXPONENT + offset / SUB_BUCKET_COUNT - SUB_BUCKET_BITS;
+        return ((long) SUB_BUCKET_COUNT + offset % SUB_BUCKET_COUNT) << shift;
+    }
+
+    private static int representativeValue(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        long lower = bucketLowerBound(index);
+        long width = bucketLowerBound(index + 1) - lower;
+        return (int) Math.min(Integer.MAX_VALUE, lower + (width - 1) / 2);
+    }
+}
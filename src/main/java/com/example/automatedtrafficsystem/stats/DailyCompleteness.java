@@ -0,0 +1,12 @@
+package com.example.automatedtrafficsystem.stats;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DailyCompleteness(
+        LocalDate date,
+        int presentSlots,
+        double coveragePercent,
+        List<String> missingSlots
+) {
+}
@@ -0,0 +1,105 @@
+package com.example.automatedtrafficsystem.stats;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataCompactedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Component
+public class DailyTrafficIndex {
+
+    private final ConcurrentSkipListMap<LocalDate, DailyTrafficPartial> partials = new ConcurrentSkipListMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        event.samples().forEach(this::record);
+    }
+
+    public void record(TrafficSample sample) {
+        LocalDateTime timestamp = sample.timestamp();
+        partials.computeIfAbsent(timestamp.toLocalDate(), date -> new DailyTrafficPartial())
+                .record(timestamp.toLocalTime().toSecondOfDay(), sample.carCount());
+    }
+
+    // Compacted records are dropped so the index matches what a restart would replay from the raw table.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataCompacted(TrafficDataCompactedEvent event) {
+        event.samples().forEach(this::remove);
+    }
+
+    public void remove(TrafficSample sample) {
+        LocalDateTime timestamp = sample.timestamp();
+        DailyTrafficPartial partial = partials.get(timestamp.toLocalDate());
+        if (partial != null) {
+            partial.remove(timestamp.toLocalTime().toSecondOfDay(), sample.carCount());
+        }
+    }
+
+    public TrafficPercentileStatistics getPercentileStatistics(@Nullable LocalDate from, @Nullable LocalDate to) {
+        CarCountHistogram[] byHour = new CarCountHistogram[DailyTrafficPartial.HOURS_PER_DAY];
+        for (int hour = 0; hour < DailyTrafficPartial.HOURS_PER_DAY; hour++) {
+            byHour[hour] = new CarCountHistogram();
+        }
+        Map<DayOfWeek, CarCountHistogram> byDay = new EnumMap<>(DayOfWeek.class);
+
+        for (Map.Entry<LocalDate, DailyTrafficPartial> entry : partialsBetween(from, to).entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            CarCountHistogram dayHistogram = byDay.computeIfAbsent(
+                    entry.getKey().getDayOfWeek(), day -> new CarCountHistogram());
+            entry.getValue().mergeInto(byHour, dayHistogram);
+        }
+
+        CarCountHistogram overall = new CarCountHistogram();
+        Map<String, PercentileSummary> hourlySummaries = new TreeMap<>();
+        for (int hour = 0; hour < DailyTrafficPartial.HOURS_PER_DAY; hour++) {
+            if (byHour[hour].getTotalCount() > 0) {
+                overall.merge(byHour[hour]);
+                hourlySummaries.put(String.format("%02d:00", hour), PercentileSummary.of(byHour[hour]));
+            }
+        }
+
+        Map<DayOfWeek, PercentileSummary> dailySummaries = new EnumMap<>(DayOfWeek.class);
+        byDay.forEach((day, histogram) -> dailySummaries.put(day, PercentileSummary.of(histogram)));
+
+        return new TrafficPercentileStatistics(from, to, PercentileSummary.of(overall), hourlySummaries, dailySummaries);
+    }
+
+    public TrafficHeatmap getHeatmap(@Nullable LocalDate from, @Nullable LocalDate to) {
+        int days = DayOfWeek.values().length;
+        long[] sums = new long[days * DailyTrafficPartial.SLOTS_PER_DAY];
+        int[] counts = new int[days * DailyTrafficPartial.SLOTS_PER_DAY];
+
+        for (Map.Entry<LocalDate, DailyTrafficPartial> entry : partialsBetween(from, to).entrySet()) {
+            int row = entry.getKey().getDayOfWeek().ordinal();
+            entry.getValue().accumulateSlots(row * DailyTrafficPartial.SLOTS_PER_DAY, sums, counts);
+        }
+
+        return TrafficHeatmap.of(from, to, sums, counts);
+    }
+
+    NavigableMap<LocalDate, DailyTrafficPartial> partialsBetween(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (from == null && to == null) {
+            return partials;
+        }
+        if (from == null) {
+            return partials.headMap(to, true);
+        }
+        if (to == null) {
+            return partials.tailMap(from, true);
+        }
+        return partials.subMap(from, true, to, true);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.automatedtrafficsystem.stats;
+
+import java.util.Arrays;
+
+// Compact per-day partial: the day's car counts, kept sorted per half-hour slot and allocated only for slots
+// that have records, so a day costs a few bytes per record rather than a set of histograms. Queries fold
+// these values into range-wide histograms and slot sums and never revisit the database, so their cost grows
+// with the number of records in range only.
+final class DailyTrafficPartial {
+
+    static final int SECONDS_PER_HOUR = 3600;
+    static final int SECONDS_PER_SLOT = 1800;
+    static final int SLOTS_PER_DAY = 48;
+    static final int HOURS_PER_DAY = 24;
+    private static final int[] NONE = new int[0];
+
+    // Timestamps on a slot boundary (the usual case) are tracked as one bit per slot, the same layout as
+    // HalfHourSlotBitmap; the rare timestamps between boundaries are kept sorted in offSlotSeconds.
+    private long slotMask;
+    private int[] offSlotSeconds = NONE;
+    private final int[][] slotCarCounts = new int[SLOTS_PER_DAY][];
+    private int recordCount;
+
+    // Returns false when the timestamp is already present, which keeps the startup replay and live
+    // ingest events from double counting the same record.
+    synchronized boolean record(int secondOfDay, int carCount) {
+        int slot = secondOfDay / SECONDS_PER_SLOT;
+        if (secondOfDay % SECONDS_PER_SLOT == 0) {
+            if ((slotMask & (1L << slot)) != 0) {
+                return false;
+            }
+            slotMask |= 1L << slot;
+        } else {
+            int position = Arrays.binarySearch(offSlotSeconds, secondOfDay);
+            if (position >= 0) {
+                return false;
+            }
+            offSlotSeconds = inserted(offSlotSeconds, -position - 1, secondOfDay);
+        }
+
+        int[] values = slotCarCounts[slot] == null ? NONE : slotCarCounts[slot];
+        int position = Arrays.binarySearch(values, carCount);
+        slotCarCounts[slot] = inserted(values, position < 0 ? -position - 1 : position, carCount);
+        recordCount++;
+        return true;
+    }
+
+    // Returns false when the timestamp is not present, e.g. a compacted record the index never saw.
+    synchronized boolean remove(int secondOfDay, int carCount) {
+        int slot = secondOfDay / SECONDS_PER_SLOT;
+        if (secondOfDay % SECONDS_PER_SLOT == 0) {
+            if ((slotMask & (1L << slot)) == 0) {
+                return false;
+            }
+            slotMask &= ~(1L << slot);
+        } else {
+            int position = Arrays.binarySearch(offSlotSeconds, secondOfDay);
+            if (position < 0) {
+                return false;
+            }
+            offSlotSeconds = removed(offSlotSeconds, position);
+        }
+
+        int[] values = slotCarCounts[slot];
+        int position = values == null ? -1 : Arrays.binarySearch(values, carCount);
+        if (position < 0) {
+            throw new IllegalArgumentException("Car count " + carCount + " was not recorded");
+        }
+        slotCarCounts[slot] = values.length == 1 ? null : removed(values, position);
+        recordCount--;
+        return true;
+    }
+
+    synchronized boolean isEmpty() {
+        return recordCount == 0;
+    }
+
+    synchronized void mergeInto(CarCountHistogram[] hourly, CarCountHistogram dayOfWeek) {
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            if (slotCarCounts[slot] == null) {
+                continue;
+            }
+            CarCountHistogram hour = hourly[slot * SECONDS_PER_SLOT / SECONDS_PER_HOUR];
+            for (int carCount : slotCarCounts[slot]) {
+                hour.record(carCount);
+                dayOfWeek.record(carCount);
+            }
+        }
+    }
+
+    synchronized void accumulateSlots(int rowOffset, long[] sums, int[] counts) {
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            if (slotCarCounts[slot] == null) {
+                continue;
+            }
+            for (int carCount : slotCarCounts[slot]) {
+                sums[rowOffset + slot] += carCount;
+            }
+            counts[rowOffset + slot] += slotCarCounts[slot].length;
+        }
+    }
+
+    private static int[] inserted(int[] values, int index, int value) {
+        int[] grown = new int[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, index);
+        System.arraycopy(values, index, grown, index + 1, values.length - index);
+        grown[index] = value;
+        return grown;
+    }
+
+    private static int[] removed(int[] values, int index) {
+        int[] shrunk = new int[values.length - 1];
+        System.arraycopy(values, 0, shrunk, 0, index);
+        System.arraycopy(values, index + 1, shrunk, index, shrunk.length - index);
+        return shrunk;
+    }
+}
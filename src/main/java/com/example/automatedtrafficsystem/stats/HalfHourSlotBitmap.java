@@ -0,0 +1,127 @@
+package com.example.automatedtrafficsystem.stats;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// Roaring-style bitmap of present half-hour slots. The high bits of the epoch day select a container of
+// 64 days; inside a container every day is one long whose lower 48 bits are the slots of that day.
+// Containers in which every slot is present collapse into a single shared instance.
+public class HalfHourSlotBitmap {
+
+    static final int SLOTS_PER_DAY = 48;
+    static final long FULL_DAY = (1L << SLOTS_PER_DAY) - 1;
+
+    private static final int DAYS_PER_CONTAINER_BITS = 6;
+    private static final int DAYS_PER_CONTAINER = 1 << DAYS_PER_CONTAINER_BITS;
+    private static final long[] FULL_CONTAINER = fullContainer();
+
+    private final TreeMap<Long, long[]> containers = new TreeMap<>();
+
+    public synchronized void add(LocalDateTime timestamp) {
+        long epochDay = timestamp.toLocalDate().toEpochDay();
+        int slot = timestamp.toLocalTime().toSecondOfDay() / DailyTrafficPartial.SECONDS_PER_SLOT;
+        long key = epochDay >> DAYS_PER_CONTAINER_BITS;
+
+        long[] container = containers.get(key);
+        if (container == FULL_CONTAINER) {
+            return;
+        }
+        if (container == null) {
+            container = new long[DAYS_PER_CONTAINER];
+            containers.put(key, container);
+        }
+        int dayIndex = (int) (epochDay & (DAYS_PER_CONTAINER - 1));
+        container[dayIndex] |= 1L << slot;
+        if (container[dayIndex] == FULL_DAY && isFull(container)) {
+            containers.put(key, FULL_CONTAINER);
+        }
+    }
+
+    public synchronized void remove(LocalDateTime timestamp) {
+        long epochDay = timestamp.toLocalDate().toEpochDay();
+        int slot = timestamp.toLocalTime().toSecondOfDay() / DailyTrafficPartial.SECONDS_PER_SLOT;
+        long key = epochDay >> DAYS_PER_CONTAINER_BITS;
+
+        long[] container = containers.get(key);
+        if (container == null) {
+            return;
+        }
+        if (container == FULL_CONTAINER) {
+            container = fullContainer();
+            containers.put(key, container);
+        }
+        int dayIndex = (int) (epochDay & (DAYS_PER_CONTAINER - 1));
+        container[dayIndex] &= ~(1L << slot);
+        if (container[dayIndex] == 0 && isEmpty(container)) {
+            containers.remove(key);
+        }
+    }
+
+    public synchronized long slotsOf(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        long[] container = containers.get(epochDay >> DAYS_PER_CONTAINER_BITS);
+        return container == null ? 0L : container[(int) (epochDay & (DAYS_PER_CONTAINER - 1))];
+    }
+
+    public synchronized Optional<LocalDate> firstDay() {
+        for (Map.Entry<Long, long[]> entry : containers.entrySet()) {
+            for (int dayIndex = 0; dayIndex < DAYS_PER_CONTAINER; dayIndex++) {
+                if (entry.getValue()[dayIndex] != 0) {
+                    return Optional.of(toDate(entry.getKey(), dayIndex));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized Optional<LocalDate> lastDay() {
+        for (Map.Entry<Long, long[]> entry : containers.descendingMap().entrySet()) {
+            for (int dayIndex = DAYS_PER_CONTAINER - 1; dayIndex >= 0; dayIndex--) {
+                if (entry.getValue()[dayIndex] != 0) {
+                    return Optional.of(toDate(entry.getKey(), dayIndex));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    synchronized int containerCount() {
+        return containers.size();
+    }
+
+    synchronized boolean isFullContainer(LocalDate date) {
+        return containers.get(date.toEpochDay() >> DAYS_PER_CONTAINER_BITS) == FULL_CONTAINER;
+    }
+
+    private static LocalDate toDate(long key, int dayIndex) {
+        return LocalDate.ofEpochDay((key << DAYS_PER_CONTAINER_BITS) + dayIndex);
+    }
+
+    private static boolean isFull(long[] container) {
+        for (long day : container) {
+            if (day != FULL_DAY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEmpty(long[] container) {
+        for (long day : container) {
+            if (day != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] fullContainer() {
+        long[] container = new long[DAYS_PER_CONTAINER];
+        Arrays.fill(container, FULL_DAY);
+        return container;
+    }
+}
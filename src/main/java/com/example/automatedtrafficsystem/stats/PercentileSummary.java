@@ -0,0 +1,24 @@
+package com.example.automatedtrafficsystem.stats;
+
+public record PercentileSummary(
+        long count,
+        int min,
+        int max,
+        double mean,
+        int p50,
+        int p90,
+        int p99
+) {
+
+    public static PercentileSummary of(CarCountHistogram histogram) {
+        return new PercentileSummary(
+                histogram.getTotalCount(),
+                histogram.getMin(),
+                histogram.getMax(),
+                histogram.getMean(),
+                histogram.valueAtQuantile(0.50),
+                histogram.valueAtQuantile(0.90),
+                histogram.valueAtQuantile(0.99)
+        );
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.automatedtrafficsystem.stats;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataCompactedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class SlotCoverageIndex {
+
+    static final int MAX_RANGE_DAYS = 3660;
+
+    private final HalfHourSlotBitmap bitmap = new HalfHourSlotBitmap();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        event.samples().forEach(this::record);
+    }
+
+    public void record(TrafficSample sample) {
+        bitmap.add(sample.timestamp());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataCompacted(TrafficDataCompactedEvent event) {
+        event.samples().forEach(sample -> bitmap.remove(sample.timestamp()));
+    }
+
+    public TrafficCompletenessReport getCompleteness(@Nullable LocalDate from, @Nullable LocalDate to) {
+        return getCompleteness(from, to, null);
+    }
+
+    // Compacted slots are cleared from the bitmap, so days before compactedBefore are left out of the report
+    // rather than listed as gaps.
+    public TrafficCompletenessReport getCompleteness(@Nullable LocalDate from, @Nullable LocalDate to,
+                                                     @Nullable LocalDateTime compactedBefore) {
+        if (from != null && to != null && ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Completeness range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        // A bound left to the data is clamped instead: without a start the report covers the most recent
+        // MAX_RANGE_DAYS, without an end the first MAX_RANGE_DAYS from the start.
+        LocalDate start = from;
+        LocalDate end = to;
+        if (end == null) {
+            end = bitmap.lastDay().orElse(null);
+            if (start != null && end != null && ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+                end = start.plusDays(MAX_RANGE_DAYS - 1);
+            }
+        }
+        if (start == null && end != null) {
+            LocalDate earliest = end.minusDays(MAX_RANGE_DAYS - 1);
+            start = bitmap.firstDay().map(first -> first.isBefore(earliest) ? earliest : first).orElse(null);
+        }
+        if (compactedBefore != null && start != null) {
+            LocalDate firstRawDay = compactedBefore.toLocalTime().equals(LocalTime.MIDNIGHT)
+                    ? compactedBefore.toLocalDate()
+                    : compactedBefore.toLocalDate().plusDays(1);
+            if (start.isBefore(firstRawDay)) {
+                start = firstRawDay;
+            }
+        }
+        if (start == null || end == null || start.isAfter(end)) {
+            return new TrafficCompletenessReport(start, end, 0, 0, 0.0, List.of(), compactedBefore);
+        }
+
+        List<DailyCompleteness> days = new ArrayList<>();
+        long presentSlots = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            long slots = bitmap.slotsOf(date);
+            int present = Long.bitCount(slots);
+            presentSlots += present;
+            days.add(new DailyCompleteness(date, present, percent(present, HalfHourSlotBitmap.SLOTS_PER_DAY),
+                    missingSlots(slots)));
+        }
+
+        long expectedSlots = (long) days.size() * HalfHourSlotBitmap.SLOTS_PER_DAY;
+        return new TrafficCompletenessReport(start, end, expectedSlots, presentSlots,
+                percent(presentSlots, expectedSlots), days, compactedBefore);
+    }
+
+    private static List<String> missingSlots(long slots) {
+        if (slots == HalfHourSlotBitmap.FULL_DAY) {
+            return List.of();
+        }
+        List<String> missing = new ArrayList<>();
+        long absent = ~slots & HalfHourSlotBitmap.FULL_DAY;
+        while (absent != 0) {
+            int slot = Long.numberOfTrailingZeros(absent);
+            missing.add(LocalTime.MIN.plusMinutes(30L * slot).toString());
+            absent &= absent - 1;
+        }
+        return missing;
+    }
+
+    private static double percent(long present, long expected) {
+        return expected == 0 ? 0.0 : Math.round(present * 10_000.0 / expected) / 100.0;
+    }
+}
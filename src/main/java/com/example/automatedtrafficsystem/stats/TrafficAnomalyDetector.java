@@ -0,0 +1,154 @@
+package com.example.automatedtrafficsystem.stats;
+
+import com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel;
+import com.example.automatedtrafficsystem.model.TrafficAnomaly;
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.repository.TrafficAnomalyRepository;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_WEEK;
+
+// Flags car counts far from what is usual for their hour-of-week slot. Each slot keeps an exponentially
+// weighted mean and variance updated in place, so a live ingest costs a few arithmetic operations per sample
+// and only touches the database when something was flagged. The startup replay just warms the state.
+@Slf4j
+@Component
+public class TrafficAnomalyDetector {
+
+    private final TrafficAnomalyRepository trafficAnomalyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TrafficDataVersion trafficDataVersion;
+    private final Clock clock;
+    private final double smoothing;
+    private final double zThreshold;
+    private final int minObservations;
+    private final long[] counts = new long[SLOTS_PER_WEEK];
+    private final double[] means = new double[SLOTS_PER_WEEK];
+    private final double[] variances = new double[SLOTS_PER_WEEK];
+    private final Map<TrafficAnomaly.Type, Counter> detected = new EnumMap<>(TrafficAnomaly.Type.class);
+
+    public TrafficAnomalyDetector(TrafficAnomalyRepository trafficAnomalyRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  TrafficDataVersion trafficDataVersion,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.anomaly.smoothing:0.05}") double smoothing,
+                                  @Value("${app.anomaly.z-threshold:4.0}") double zThreshold,
+                                  @Value("${app.anomaly.min-observations:8}") int minObservations) {
+        this(trafficAnomalyRepository, transactionManager, trafficDataVersion, meterRegistry, Clock.systemUTC(),
+                smoothing, zThreshold, minObservations);
+    }
+
+    TrafficAnomalyDetector(TrafficAnomalyRepository trafficAnomalyRepository,
+                           PlatformTransactionManager transactionManager,
+                           TrafficDataVersion trafficDataVersion,
+                           MeterRegistry meterRegistry,
+                           Clock clock,
+                           double smoothing,
+                           double zThreshold,
+                           int minObservations) {
+        if (smoothing <= 0 || smoothing > 1 || zThreshold <= 0 || minObservations < 2) {
+            throw new IllegalArgumentException(
+                    "Anomaly smoothing must be within (0, 1], z threshold positive and min observations at least 2");
+        }
+        this.trafficAnomalyRepository = trafficAnomalyRepository;
+        // Live events arrive after the ingest transaction has committed, so the write needs its own.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.trafficDataVersion = trafficDataVersion;
+        this.clock = clock;
+        this.smoothing = smoothing;
+        this.zThreshold = zThreshold;
+        this.minObservations = minObservations;
+        for (TrafficAnomaly.Type type : TrafficAnomaly.Type.values()) {
+            detected.put(type, Counter.builder("traffic.anomalies")
+                    .tag("type", type.name())
+                    .description("Traffic records flagged as anomalous for their hour-of-week slot")
+                    .register(meterRegistry));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrafficDataIngested(TrafficDataIngestedEvent event) {
+        List<TrafficAnomaly> anomalies = record(event.samples(), !event.replay());
+        if (anomalies.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> trafficAnomalyRepository.saveAll(anomalies));
+            // The ingest may already have bumped the version; bump again so cached stats pick these up.
+            trafficDataVersion.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not store {} detected traffic anomalies", anomalies.size(), e);
+        }
+    }
+
+    // Folds the samples into their slots and, when detect is set, returns those that were anomalous against
+    // the state before them.
+    public List<TrafficAnomaly> record(Collection<TrafficSample> samples, boolean detect) {
+        LocalDateTime detectedAt = LocalDateTime.now(clock);
+        List<TrafficAnomaly> anomalies = new ArrayList<>(0);
+        synchronized (counts) {
+            for (TrafficSample sample : samples) {
+                TrafficAnomaly anomaly = observe(sample, detect, detectedAt);
+                if (anomaly != null) {
+                    anomalies.add(anomaly);
+                }
+            }
+        }
+        anomalies.forEach(anomaly -> detected.get(anomaly.getType()).increment());
+        return anomalies;
+    }
+
+    // The deviation is floored at sqrt(mean), the Poisson spread of a count, so a slot that has been nearly
+    // constant does not flag every small change. Once warm, values are clamped to the threshold band before
+    // being folded in, so one outlier cannot widen the band enough to hide the next. Until then the weight is
+    // 1/n, which makes the first estimates plain averages instead of leaning on the first sample.
+    @Nullable
+    private TrafficAnomaly observe(TrafficSample sample, boolean detect, LocalDateTime detectedAt) {
+        int slot = SeasonalTrafficModel.slotOf(sample.timestamp());
+        double value = sample.carCount();
+        long n = ++counts[slot];
+        double mean = means[slot];
+        boolean warm = n > minObservations;
+        double standardDeviation = Math.sqrt(Math.max(variances[slot], Math.max(1, mean)));
+        double zScore = (value - mean) / standardDeviation;
+
+        TrafficAnomaly anomaly = null;
+        if (detect && warm && Math.abs(zScore) >= zThreshold) {
+            anomaly = new TrafficAnomaly(null, sample.timestamp(), sample.carCount(), round(mean),
+                    round(standardDeviation), round(zScore),
+                    zScore > 0 ? TrafficAnomaly.Type.SPIKE : TrafficAnomaly.Type.DROP, detectedAt);
+        }
+
+        double band = zThreshold * standardDeviation;
+        double clamped = warm ? Math.min(Math.max(value, mean - band), mean + band) : value;
+        double weight = Math.max(smoothing, 1.0 / n);
+        double difference = clamped - mean;
+        means[slot] = mean + weight * difference;
+        variances[slot] = (1 - weight) * (variances[slot] + weight * difference * difference);
+        return anomaly;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
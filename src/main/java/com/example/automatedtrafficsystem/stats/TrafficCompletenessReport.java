@@ -0,0 +1,20 @@
+package com.example.automatedtrafficsystem.stats;
+
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Slots before compactedBefore only survive as hourly rollups, so the report starts at the first day held
+// entirely as raw rows; compactedBefore is null while nothing has been compacted.
+public record TrafficCompletenessReport(
+        LocalDate from,
+        LocalDate to,
+        long expectedSlots,
+        long presentSlots,
+        double coveragePercent,
+        List<DailyCompleteness> days,
+        @Nullable LocalDateTime compactedBefore
+) {
+}
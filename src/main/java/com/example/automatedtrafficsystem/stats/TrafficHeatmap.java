@@ -0,0 +1,81 @@
+package com.example.automatedtrafficsystem.stats;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Rows follow DayOfWeek order (MONDAY..SUNDAY), columns are the 48 half-hour slots of a day.
+public record TrafficHeatmap(
+        LocalDate from,
+        LocalDate to,
+        List<DayOfWeek> days,
+        List<String> slots,
+        long[][] sums,
+        int[][] counts,
+        double[][] averages
+) {
+
+    private static final List<DayOfWeek> DAYS = List.of(DayOfWeek.values());
+    private static final List<String> SLOT_LABELS = slotLabels();
+
+    static TrafficHeatmap of(LocalDate from, LocalDate to, long[] flatSums, int[] flatCounts) {
+        int slotsPerDay = DailyTrafficPartial.SLOTS_PER_DAY;
+        long[][] sums = new long[DAYS.size()][];
+        int[][] counts = new int[DAYS.size()][];
+        double[][] averages = new double[DAYS.size()][slotsPerDay];
+
+        for (int day = 0; day < DAYS.size(); day++) {
+            sums[day] = Arrays.copyOfRange(flatSums, day * slotsPerDay, (day + 1) * slotsPerDay);
+            counts[day] = Arrays.copyOfRange(flatCounts, day * slotsPerDay, (day + 1) * slotsPerDay);
+            for (int slot = 0; slot < slotsPerDay; slot++) {
+                averages[day][slot] = counts[day][slot] == 0 ? 0.0 : (double) sums[day][slot] / counts[day][slot];
+            }
+        }
+        return new TrafficHeatmap(from, to, DAYS, SLOT_LABELS, sums, counts, averages);
+    }
+
+    public double averageForDay(DayOfWeek day) {
+        int row = day.ordinal();
+        return average(Arrays.stream(sums[row]).sum(), Arrays.stream(counts[row]).sum());
+    }
+
+    public double averageForHour(int hour) {
+        long sum = 0;
+        long count = 0;
+        for (int day = 0; day < days.size(); day++) {
+            for (int slot = hour * 2; slot < hour * 2 + 2; slot++) {
+                sum += sums[day][slot];
+                count += counts[day][slot];
+            }
+        }
+        return average(sum, count);
+    }
+
+    public boolean hasDataForDay(DayOfWeek day) {
+        return Arrays.stream(counts[day.ordinal()]).anyMatch(count -> count > 0);
+    }
+
+    public boolean hasDataForHour(int hour) {
+        for (int day = 0; day < days.size(); day++) {
+            if (counts[day][hour * 2] > 0 || counts[day][hour * 2 + 1] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double average(long sum, long count) {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    private static List<String> slotLabels() {
+        List<String> labels = new ArrayList<>(DailyTrafficPartial.SLOTS_PER_DAY);
+        for (int slot = 0; slot < DailyTrafficPartial.SLOTS_PER_DAY; slot++) {
+            labels.add(LocalTime.MIN.plusMinutes(30L * slot).toString());
+        }
+        return List.copyOf(labels);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.automatedtrafficsystem.stats;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+
+public record TrafficPercentileStatistics(
+        LocalDate from,
+        LocalDate to,
+        PercentileSummary overall,
+        Map<String, PercentileSummary> byHourOfDay,
+        Map<DayOfWeek, PercentileSummary> byDayOfWeek
+) {
+}
@@ -0,0 +1,60 @@
+package com.example.automatedtrafficsystem.util;
+
+import java.util.stream.IntStream;
+
+// Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013): keeps the first and last point and, from each
+// of the buckets in between, the point forming the largest triangle with the previously kept point and the
+// average of the next bucket. Unlike averaging, spikes and dips survive. O(n), and x must be ascending.
+public final class LargestTriangleThreeBuckets {
+
+    private LargestTriangleThreeBuckets() {
+    }
+
+    // Indices (ascending) of at most maxPoints points to keep; all of them when there are no more than that.
+    public static int[] select(double[] x, double[] y, int maxPoints) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        if (maxPoints < 3) {
+            throw new IllegalArgumentException("Downsampling needs at least 3 points");
+        }
+        int n = x.length;
+        if (n <= maxPoints) {
+            return IntStream.range(0, n).toArray();
+        }
+
+        int[] selected = new int[maxPoints];
+        double bucketSize = (double) (n - 2) / (maxPoints - 2);
+        int previous = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int from = (int) (bucket * bucketSize) + 1;
+            int to = (int) ((bucket + 1) * bucketSize) + 1;
+
+            int nextFrom = to;
+            int nextTo = Math.min((int) ((bucket + 2) * bucketSize) + 1, n);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            averageX /= nextTo - nextFrom;
+            averageY /= nextTo - nextFrom;
+
+            double largestArea = -1;
+            int chosen = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((x[previous] - averageX) * (y[i] - y[previous])
+                        - (x[previous] - x[i]) * (averageY - y[previous]));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+            selected[bucket + 1] = chosen;
+            previous = chosen;
+        }
+        selected[maxPoints - 1] = n - 1;
+        return selected;
+    }
+}
@@ -7,6 +7,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
 public class PaginationUtil {
 
     public static final String DEFAULT_PAGE_NUMBER = "0";
@@ -36,6 +43,53 @@ public class PaginationUtil {
         return response;
     }
 
+    // Callers fetch size + 1 rows; the extra row only signals that another page exists.
+    public static <T> CursorPagedResponse<T> createCursorPagedResponse(
+            List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+
+        CursorPagedResponse<T> response = new CursorPagedResponse<>();
+        response.setContent(content);
+        response.setPageSize(size);
+        response.setLast(!hasNext);
+        response.setNextCursor(hasNext ? encodeCursor(cursorOf.apply(content.get(content.size() - 1))) : null);
+        return response;
+    }
+
+    public static String encodeCursor(Cursor cursor) {
+        String raw = cursor.timestamp() + "," + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(',');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid pagination cursor");
+            }
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor", e);
+        }
+    }
+
+    public record Cursor(LocalDateTime timestamp, long id) {
+    }
+
+    @Setter
+    @Getter
+    public static class CursorPagedResponse<T> {
+        private int pageSize;
+        private boolean last;
+        private String nextCursor;
+        private Iterable<T> content;
+
+    }
+
     @Setter
     @Getter
     public static class PagedResponse<T> {
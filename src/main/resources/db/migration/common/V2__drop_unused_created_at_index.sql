@@ -0,0 +1,2 @@
+-- No query filters or sorts on created_at, so the index only adds write amplification on ingest.
+DROP INDEX IF EXISTS idx_traffic_data_created_at;
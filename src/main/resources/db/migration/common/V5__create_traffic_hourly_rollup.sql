@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS traffic_hourly_rollup (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hour_start TIMESTAMP NOT NULL,
+    record_count INTEGER NOT NULL CHECK (record_count > 0),
+    total_cars BIGINT NOT NULL CHECK (total_cars >= 0),
+    min_cars INTEGER NOT NULL CHECK (min_cars >= 0),
+    max_cars INTEGER NOT NULL CHECK (max_cars >= 0),
+    CONSTRAINT uk_traffic_hourly_rollup_hour_start UNIQUE (hour_start)
+);
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS traffic_anomaly (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    timestamp TIMESTAMP NOT NULL,
+    car_count INTEGER NOT NULL CHECK (car_count >= 0),
+    expected_count DOUBLE PRECISION NOT NULL,
+    standard_deviation DOUBLE PRECISION NOT NULL,
+    z_score DOUBLE PRECISION NOT NULL,
+    anomaly_type VARCHAR(16) NOT NULL,
+    detected_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_traffic_anomaly_timestamp ON traffic_anomaly(timestamp);
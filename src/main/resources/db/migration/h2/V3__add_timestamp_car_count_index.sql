@@ -0,0 +1,2 @@
+-- H2 has no INCLUDE clause; a composite index lets range aggregates over car_count be answered from the index.
+CREATE INDEX IF NOT EXISTS idx_traffic_data_timestamp_car_count ON traffic_data(timestamp, car_count);
@@ -0,0 +1,6 @@
+-- Covering unique index so range aggregates over car_count become index-only scans. It replaces the
+-- plain unique constraint, keeping a single timestamp index on the write path.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_traffic_data_timestamp_covering
+    ON traffic_data (timestamp) INCLUDE (car_count);
+
+ALTER TABLE traffic_data DROP CONSTRAINT IF EXISTS uk_traffic_data_timestamp;
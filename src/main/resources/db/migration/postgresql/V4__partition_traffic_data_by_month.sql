@@ -0,0 +1,69 @@
+-- Rebuild traffic_data as a table range-partitioned by month on timestamp. Unique constraints on a
+-- partitioned table must contain the partition key, so the primary key becomes (id, timestamp);
+-- ids still come from a single sequence and stay unique across partitions.
+ALTER TABLE traffic_data RENAME TO traffic_data_unpartitioned;
+ALTER INDEX IF EXISTS uk_traffic_data_timestamp_covering RENAME TO uk_traffic_data_unpartitioned_timestamp;
+
+CREATE SEQUENCE traffic_data_partitioned_id_seq AS BIGINT;
+
+CREATE TABLE traffic_data (
+    id BIGINT NOT NULL DEFAULT nextval('traffic_data_partitioned_id_seq'),
+    timestamp TIMESTAMP NOT NULL,
+    car_count INTEGER NOT NULL CHECK (car_count >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_traffic_data PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE traffic_data_partitioned_id_seq OWNED BY traffic_data.id;
+
+CREATE UNIQUE INDEX uk_traffic_data_timestamp_covering
+    ON traffic_data (timestamp) INCLUDE (car_count);
+
+-- Catches rows outside every monthly partition so inserts never fail; ensure_traffic_data_partitions
+-- moves them into their month once it is created.
+CREATE TABLE traffic_data_default PARTITION OF traffic_data DEFAULT;
+
+-- Creates any missing monthly partitions between the two months (inclusive), named
+-- traffic_data_yYYYYmMM. Safe to call repeatedly; returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_traffic_data_partitions(from_month DATE, to_month DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::DATE;
+    last_month DATE := date_trunc('month', to_month)::DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition_name := format('traffic_data_y%sm%s',
+                to_char(month_start, 'YYYY'), to_char(month_start, 'MM'));
+
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE traffic_data INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                    partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM traffic_data_default WHERE timestamp >= %L AND timestamp < %L RETURNING *) '
+                    || 'INSERT INTO %I SELECT * FROM moved',
+                    month_start, (month_start + INTERVAL '1 month')::DATE, partition_name);
+            EXECUTE format('ALTER TABLE traffic_data ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                    partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+SELECT ensure_traffic_data_partitions(
+        COALESCE((SELECT MIN(timestamp) FROM traffic_data_unpartitioned), CURRENT_DATE)::DATE,
+        (CURRENT_DATE + INTERVAL '3 months')::DATE);
+
+INSERT INTO traffic_data (id, timestamp, car_count, created_at)
+SELECT id, timestamp, car_count, created_at FROM traffic_data_unpartitioned;
+
+SELECT setval('traffic_data_partitioned_id_seq',
+        COALESCE((SELECT MAX(id) FROM traffic_data_unpartitioned), 0) + 1, false);
+
+DROP TABLE traffic_data_unpartitioned;
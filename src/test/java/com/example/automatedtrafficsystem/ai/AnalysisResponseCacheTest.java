@@ -0,0 +1,119 @@
+package com.example.automatedtrafficsystem.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T10:00:00Z"));
+
+    @Test
+    void get_ShouldCountHitsAndMisses() {
+        AnalysisResponseCache cache = cache(Duration.ofHours(1), 4, null);
+
+        assertTrue(cache.get("prompt").isEmpty());
+        cache.put("prompt", "analysis");
+
+        assertEquals(Optional.of("analysis"), cache.get("prompt"));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").gauge().value());
+    }
+
+    @Test
+    void get_AfterTtl_ShouldMiss() {
+        AnalysisResponseCache cache = cache(Duration.ofMinutes(10), 4, null);
+        cache.put("prompt", "analysis");
+
+        clock.advance(Duration.ofMinutes(11));
+
+        assertTrue(cache.get("prompt").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_BeyondMaxEntries_ShouldEvictLeastRecentlyUsed() {
+        AnalysisResponseCache cache = cache(Duration.ofHours(1), 2, null);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.get("first");
+
+        cache.put("third", "3");
+
+        assertTrue(cache.get("second").isEmpty());
+        assertEquals(Optional.of("1"), cache.get("first"));
+        assertEquals(Optional.of("3"), cache.get("third"));
+        assertEquals(1.0, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    @Test
+    void keyOf_ShouldDependOnModel() {
+        AnalysisResponseCache cache = cache(Duration.ofHours(1), 2, null);
+        AnalysisResponseCache otherModel = new AnalysisResponseCache(objectMapper, new SimpleMeterRegistry(), clock,
+                "other-model", Duration.ofHours(1), 2, null);
+
+        assertNotEquals(cache.keyOf("prompt"), otherModel.keyOf("prompt"));
+        assertEquals(64, cache.keyOf("prompt").length());
+    }
+
+    @Test
+    void put_WithFile_ShouldSurviveRestartUntilExpiry(@TempDir Path directory) {
+        Path file = directory.resolve("cache/ai-analysis.json");
+        cache(Duration.ofHours(1), 4, file).put("prompt", "analysis");
+
+        AnalysisResponseCache restarted = new AnalysisResponseCache(objectMapper, new SimpleMeterRegistry(), clock,
+                "test-model", Duration.ofHours(1), 4, file);
+        assertEquals(Optional.of("analysis"), restarted.get("prompt"));
+
+        clock.advance(Duration.ofHours(2));
+        AnalysisResponseCache expired = new AnalysisResponseCache(objectMapper, new SimpleMeterRegistry(), clock,
+                "test-model", Duration.ofHours(1), 4, file);
+        assertEquals(0, expired.size());
+    }
+
+    private AnalysisResponseCache cache(Duration ttl, int maxEntries, Path file) {
+        return new AnalysisResponseCache(objectMapper, meterRegistry, clock, "test-model", ttl, maxEntries, file);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
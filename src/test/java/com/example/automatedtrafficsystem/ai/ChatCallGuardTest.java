@@ -0,0 +1,146 @@
+package com.example.automatedtrafficsystem.ai;
+
+import com.example.automatedtrafficsystem.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatCallGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChatCallGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        if (guard != null) {
+            guard.shutdown();
+        }
+    }
+
+    @Test
+    void call_WhenUpstreamIsSlow_ShouldTimeOut() {
+        guard = guard(Duration.ofMillis(100), 2, 5, Duration.ofMinutes(1));
+
+        ChatUnavailableException e = assertThrows(ChatUnavailableException.class, () -> guard.call(() -> {
+            sleep(Duration.ofSeconds(5));
+            return "too late";
+        }));
+
+        assertTrue(e.getMessage().contains("did not answer within 100ms"));
+        assertEquals(1.0, outcome("timeout"));
+    }
+
+    @Test
+    void call_AfterConsecutiveFailures_ShouldOpenCircuitAndShortCircuit() {
+        guard = guard(Duration.ofSeconds(1), 2, 2, Duration.ofMinutes(1));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ChatUnavailableException.class, () -> guard.call(() -> {
+                upstreamCalls.incrementAndGet();
+                throw new IllegalStateException("503 Service Unavailable");
+            }));
+        }
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertEquals(2.0, outcome("failure"));
+        assertEquals(1.0, outcome("short_circuited"));
+    }
+
+    @Test
+    void call_WhenOpenDurationHasElapsed_ShouldCloseAfterSuccessfulTrial() {
+        guard = guard(Duration.ofSeconds(1), 2, 1, Duration.ZERO);
+
+        assertThrows(ChatUnavailableException.class, () -> guard.call(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+
+        assertEquals("recovered", guard.call(() -> "recovered"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    @Test
+    void call_WhenBulkheadIsFull_ShouldRejectWithoutCallingUpstream() throws Exception {
+        guard = guard(Duration.ofSeconds(5), 1, 5, Duration.ofMinutes(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> guard.call(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ChatUnavailableException.class, () -> guard.call(() -> fail("must not be called")));
+        release.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, outcome("rejected"));
+        assertEquals(1.0, outcome("success"));
+    }
+
+    @Test
+    void stream_WhenSubscriberCancels_ShouldCancelUpstreamAndReleasePermit() {
+        guard = guard(Duration.ofSeconds(5), 1, 5, Duration.ofMinutes(1));
+        AtomicBoolean upstreamCancelled = new AtomicBoolean();
+        Flux<String> endless = Flux.interval(Duration.ofMillis(10)).map(i -> "token-" + i)
+                .doOnCancel(() -> upstreamCancelled.set(true));
+
+        assertEquals(List.of("token-0", "token-1"), guard.stream(() -> endless).take(2).collectList().block());
+
+        assertTrue(upstreamCancelled.get());
+        assertEquals(1.0, outcome("cancelled"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+        assertEquals(List.of("again"), guard.stream(() -> Flux.just("again")).collectList().block());
+    }
+
+    @Test
+    void stream_WhenNoTokenArrivesInTime_ShouldFailWithChatUnavailable() {
+        guard = guard(Duration.ofMillis(100), 1, 5, Duration.ofMinutes(1));
+
+        ChatUnavailableException e = assertThrows(ChatUnavailableException.class,
+                () -> guard.stream(Flux::never).blockLast());
+
+        assertTrue(e.getMessage().contains("sent nothing for 100ms"));
+        assertEquals(1.0, outcome("timeout"));
+    }
+
+    private ChatCallGuard guard(Duration timeout, int maxConcurrentCalls, int failureThreshold, Duration openDuration) {
+        return new ChatCallGuard(meterRegistry, Clock.systemUTC(), timeout, maxConcurrentCalls, failureThreshold,
+                openDuration);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("ai.chat.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.automatedtrafficsystem.ai;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FakeChatClientTest {
+
+    private final Prompt prompt = new Prompt("Analyze Monday traffic");
+
+    @Test
+    void call_ShouldAnswerDeterministicallyPerPrompt() {
+        FakeChatClient client = new FakeChatClient(Duration.ZERO, Duration.ZERO, 0.0, 10_000, 12, 1);
+
+        String first = client.call(prompt).getResult().getOutput().getContent();
+
+        assertEquals(first, client.call(prompt).getResult().getOutput().getContent());
+        assertEquals(12, first.split(" ").length);
+        assertTrue(first.endsWith("."));
+        assertNotEquals(first, client.call(new Prompt("Analyze Sunday traffic")).getResult().getOutput().getContent());
+    }
+
+    @Test
+    void stream_ShouldEmitOneChunkPerTokenMatchingTheBlockingAnswer() {
+        FakeChatClient client = new FakeChatClient(Duration.ZERO, Duration.ZERO, 0.0, 10_000, 12, 1);
+
+        List<String> chunks = client.stream(prompt)
+                .map(response -> response.getResult().getOutput().getContent())
+                .collectList()
+                .block();
+
+        assertEquals(12, chunks.size());
+        assertEquals(client.call(prompt).getResult().getOutput().getContent(), String.join("", chunks));
+    }
+
+    @Test
+    void callAndStream_WithFullErrorRate_ShouldFailLikeAnUnavailableUpstream() {
+        FakeChatClient client = new FakeChatClient(Duration.ZERO, Duration.ZERO, 1.0, 10_000, 12, 1);
+
+        HttpServerErrorException e = assertThrows(HttpServerErrorException.class, () -> client.call(prompt));
+        assertEquals(503, e.getStatusCode().value());
+        assertThrows(HttpServerErrorException.class, () -> client.stream(prompt).blockLast());
+    }
+
+    @Test
+    void nextLatency_ShouldFollowConfiguredMedianAndP99() {
+        FakeChatClient client = new FakeChatClient(Duration.ofMillis(100), Duration.ofMillis(1000), 0.0, 50, 10, 7);
+
+        List<Long> latencies = IntStream.range(0, 20_000)
+                .mapToObj(i -> client.nextLatency().toMillis())
+                .sorted()
+                .toList();
+
+        assertEquals(100, latencies.get(10_000), 5);
+        assertEquals(1000, latencies.get(19_800), 100);
+    }
+
+    @Test
+    void call_ShouldTakeFirstTokenLatencyPlusGenerationTime() {
+        FakeChatClient client = new FakeChatClient(Duration.ofMillis(50), Duration.ofMillis(50), 0.0, 100, 6, 1);
+
+        long startedAt = System.nanoTime();
+        ChatResponse response = client.call(prompt);
+
+        assertNotNull(response.getResult());
+        assertTrue(System.nanoTime() - startedAt >= Duration.ofMillis(100).toNanos());
+    }
+}
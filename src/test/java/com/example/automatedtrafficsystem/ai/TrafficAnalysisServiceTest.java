@@ -1,22 +1,50 @@
 package com.example.automatedtrafficsystem.ai;
 
+import com.example.automatedtrafficsystem.forecast.BacktestReport;
+import com.example.automatedtrafficsystem.forecast.HoltWintersTrafficForecaster;
+import com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel;
+import com.example.automatedtrafficsystem.forecast.TrafficForecastStore;
 import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficSample;
 import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.service.PartitionedTrafficAggregator;
+import com.example.automatedtrafficsystem.service.TrafficAggregate;
+import com.example.automatedtrafficsystem.service.TrafficDataService;
+import com.example.automatedtrafficsystem.stats.DailyTrafficIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.ChatClient;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,36 +53,259 @@ class TrafficAnalysisServiceTest {
     @Mock
     private ChatClient chatClient;
 
+    @Mock
+    private StreamingChatClient streamingChatClient;
+
     @Mock
     private TrafficDataRepository trafficDataRepository;
 
-    @InjectMocks
+    @Mock
+    private PartitionedTrafficAggregator partitionedTrafficAggregator;
+
+    @Mock
+    private TrafficDataService trafficDataService;
+
     private TrafficAnalysisService trafficAnalysisService;
 
+    private DailyTrafficIndex dailyTrafficIndex;
+
+    private SeasonalTrafficModel seasonalTrafficModel;
+
+    private HoltWintersTrafficForecaster holtWintersTrafficForecaster;
+
+    private TrafficForecastStore trafficForecastStore;
+
+    private final SimpleMeterRegistry storeMeterRegistry = new SimpleMeterRegistry();
+
     private final LocalDateTime now = LocalDateTime.now();
     private final LocalDate today = LocalDate.now();
 
+    private final AiTaskExecutor aiTaskExecutor = new AiTaskExecutor(2, 8);
+
     @BeforeEach
     void setUp() {
+        dailyTrafficIndex = new DailyTrafficIndex();
+        seasonalTrafficModel = new SeasonalTrafficModel();
+        holtWintersTrafficForecaster = new HoltWintersTrafficForecaster(0.1, 0.001, 0.05, 0.1, 0.98, 1.96);
+        trafficForecastStore = new TrafficForecastStore(holtWintersTrafficForecaster, storeMeterRegistry, 7);
         trafficAnalysisService = new TrafficAnalysisService(
             chatClient, 
-            trafficDataRepository
+            streamingChatClient,
+            trafficDataRepository,
+            trafficDataService,
+            dailyTrafficIndex,
+            partitionedTrafficAggregator,
+            seasonalTrafficModel,
+            holtWintersTrafficForecaster,
+            trafficForecastStore,
+            new AnalysisResponseCache(new ObjectMapper(), new SimpleMeterRegistry(), Clock.systemUTC(),
+                "test-model", Duration.ofHours(1), 16, null),
+            new ChatCallGuard(new SimpleMeterRegistry(), Clock.systemUTC(), Duration.ofMillis(200), 2, 3, Duration.ofMinutes(1)),
+            aiTaskExecutor,
+            new ClassPathResource("prompts/traffic-analysis-prompt.st"),
+            48
         );
     }
 
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        aiTaskExecutor.shutdown();
+    }
+
+    @Test
+    void analyzeTrafficPatterns_ShouldBuildAveragesFromHeatmap() {
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        List<TrafficData> records = List.of(
+            new TrafficData(monday.atTime(8, 0), 10),
+            new TrafficData(monday.atTime(8, 30), 30),
+            new TrafficData(monday.plusDays(1).atTime(17, 0), 40)
+        );
+        records.forEach(data -> dailyTrafficIndex.record(TrafficSample.of(data)));
+
+        when(trafficDataService.getDailyCarCounts(monday, monday.plusDays(1))).thenReturn(dailyTotalsOf(records));
+        when(partitionedTrafficAggregator.aggregate(monday.atStartOfDay(), monday.plusDays(2).atStartOfDay()))
+            .thenReturn(aggregateOf(records));
+        when(trafficDataRepository.findSamplesBetween(
+            eq(monday.atStartOfDay()),
+            eq(monday.plusDays(2).atStartOfDay()),
+            any(Pageable.class)
+        )).thenReturn(records.stream().map(TrafficSample::of).toList());
+        when(chatClient.call(any(Prompt.class)))
+            .thenReturn(new ChatResponse(List.of(new Generation("Traffic peaks in the morning"))));
+
+        String analysis = trafficAnalysisService.analyzeTrafficPatterns(monday, monday.plusDays(1)).join();
+
+        assertEquals("Traffic peaks in the morning", analysis);
+        ArgumentCaptor<Prompt> promptCaptor = ArgumentCaptor.forClass(Prompt.class);
+        verify(chatClient).call(promptCaptor.capture());
+        String prompt = promptCaptor.getValue().getContents();
+        assertTrue(prompt.contains("- MONDAY: 20.0 cars"));
+        assertTrue(prompt.contains("- TUESDAY: 40.0 cars"));
+        assertTrue(prompt.contains("- 08:00 - 20.0 cars"));
+        assertTrue(prompt.contains("- 17:00 - 40.0 cars"));
+        assertTrue(prompt.contains("Total Records: 3"));
+        assertTrue(prompt.contains("Total Cars: 80"));
+        assertTrue(prompt.contains("(cars per record, downsampled"));
+        assertTrue(prompt.contains("- 2024-01-01T08:30:00: 30 cars"));
+    }
+
+    @Test
+    void analyzeTrafficPatterns_OverLongRange_ShouldDescribeItWithBoundedDailySeries() {
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        LocalDate end = LocalDate.of(2023, 12, 31);
+        Map<LocalDate, Long> totals = new TreeMap<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            totals.put(date, date.equals(LocalDate.of(2023, 7, 4)) ? 9_000L : 1_000L);
+        }
+        when(partitionedTrafficAggregator.aggregate(start.atStartOfDay(), end.plusDays(1).atStartOfDay()))
+            .thenReturn(aggregateOf(List.of(new TrafficData(start.atTime(8, 0), 10))));
+        when(trafficDataService.getDailyCarCounts(start, end)).thenReturn(totals);
+        when(chatClient.call(any(Prompt.class)))
+            .thenReturn(new ChatResponse(List.of(new Generation("Steady year"))));
+
+        trafficAnalysisService.analyzeTrafficPatterns(start, end).join();
+
+        ArgumentCaptor<Prompt> promptCaptor = ArgumentCaptor.forClass(Prompt.class);
+        verify(chatClient).call(promptCaptor.capture());
+        String prompt = promptCaptor.getValue().getContents();
+        assertTrue(prompt.contains("(cars per day, downsampled"));
+        assertEquals(48, prompt.lines().filter(line -> line.matches("- \\d{4}-\\d{2}-\\d{2}: \\d+ cars")).count());
+        assertTrue(prompt.contains("- 2023-01-01: 1000 cars"));
+        assertTrue(prompt.contains("- 2023-07-04: 9000 cars"));
+        assertTrue(prompt.contains("- 2023-12-31: 1000 cars"));
+        verify(trafficDataRepository, never()).findSamplesBetween(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void analyzeTrafficPatterns_WithUnchangedData_ShouldServeCachedResponse() {
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        List<TrafficData> records = List.of(new TrafficData(monday.atTime(8, 0), 10));
+        records.forEach(data -> dailyTrafficIndex.record(TrafficSample.of(data)));
+        when(trafficDataService.getDailyCarCounts(any(), any())).thenAnswer(invocation -> dailyTotalsOf(records));
+        when(partitionedTrafficAggregator.aggregate(any(), any())).thenAnswer(invocation -> aggregateOf(records));
+        when(trafficDataRepository.findSamplesBetween(any(), any(), any(Pageable.class)))
+            .thenReturn(records.stream().map(TrafficSample::of).toList());
+        when(chatClient.call(any(Prompt.class)))
+            .thenReturn(new ChatResponse(List.of(new Generation("Quiet Monday"))));
+
+        assertEquals("Quiet Monday", trafficAnalysisService.analyzeTrafficPatterns(monday, monday).join());
+        assertEquals("Quiet Monday", trafficAnalysisService.analyzeTrafficPatterns(monday, monday).join());
+        verify(chatClient, times(1)).call(any(Prompt.class));
+
+        dailyTrafficIndex.record(new TrafficSample(monday.atTime(9, 0), 25));
+        trafficAnalysisService.analyzeTrafficPatterns(monday, monday).join();
+        verify(chatClient, times(2)).call(any(Prompt.class));
+    }
+
+    @Test
+    void streamTrafficAnalysis_ShouldForwardTokensAndCacheCompletedAnswer() {
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        List<TrafficData> records = List.of(new TrafficData(monday.atTime(8, 0), 10));
+        when(trafficDataService.getDailyCarCounts(any(), any())).thenAnswer(invocation -> dailyTotalsOf(records));
+        when(partitionedTrafficAggregator.aggregate(any(), any())).thenAnswer(invocation -> aggregateOf(records));
+        when(streamingChatClient.stream(any(Prompt.class))).thenReturn(Flux.just(
+            new ChatResponse(List.of(new Generation("Quiet "))),
+            new ChatResponse(List.of(new Generation("Monday")))));
+
+        List<String> tokens = trafficAnalysisService.streamTrafficAnalysis(monday, monday).collectList().block();
+
+        assertEquals(List.of("Quiet ", "Monday"), tokens);
+        assertEquals("Quiet Monday", trafficAnalysisService.analyzeTrafficPatterns(monday, monday).join());
+        verifyNoInteractions(chatClient);
+    }
+
+    @Test
+    void streamTrafficAnalysis_WhenStreamFailsBeforeFirstToken_ShouldFallBackToStatisticalSummary() {
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        List<TrafficData> records = List.of(new TrafficData(monday.atTime(8, 0), 10));
+        when(trafficDataService.getDailyCarCounts(any(), any())).thenAnswer(invocation -> dailyTotalsOf(records));
+        when(partitionedTrafficAggregator.aggregate(any(), any())).thenReturn(aggregateOf(records));
+        when(streamingChatClient.stream(any(Prompt.class)))
+            .thenReturn(Flux.error(new IllegalStateException("500 Internal Server Error")));
+
+        List<String> tokens = trafficAnalysisService.streamTrafficAnalysis(monday, monday).collectList().block();
+
+        assertEquals(1, tokens.size());
+        assertTrue(tokens.get(0).startsWith("AI analysis is unavailable (AI service call failed)"));
+    }
+
+    @Test
+    void analyzeTrafficPatterns_WhenChatFails_ShouldFallBackToStatisticalSummary() {
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        List<TrafficData> records = List.of(new TrafficData(monday.atTime(8, 0), 10));
+        records.forEach(data -> dailyTrafficIndex.record(TrafficSample.of(data)));
+        when(trafficDataService.getDailyCarCounts(any(), any())).thenAnswer(invocation -> dailyTotalsOf(records));
+        when(partitionedTrafficAggregator.aggregate(any(), any())).thenReturn(aggregateOf(records));
+        when(chatClient.call(any(Prompt.class))).thenThrow(new IllegalStateException("429 Too Many Requests"));
+
+        String analysis = trafficAnalysisService.analyzeTrafficPatterns(monday, monday).join();
+
+        assertTrue(analysis.startsWith("AI analysis is unavailable (AI service call failed)"));
+        assertTrue(analysis.contains("Total Cars: 10"));
+        assertTrue(analysis.contains("- 08:00 - 10.0 cars"));
+    }
+
+    @Test
+    void analyzeTrafficPatterns_WhenChatIsSlow_ShouldTimeOutToStatisticalSummary() {
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        List<TrafficData> records = List.of(new TrafficData(monday.atTime(8, 0), 10));
+        when(trafficDataService.getDailyCarCounts(any(), any())).thenAnswer(invocation -> dailyTotalsOf(records));
+        when(partitionedTrafficAggregator.aggregate(any(), any())).thenReturn(aggregateOf(records));
+        when(chatClient.call(any(Prompt.class))).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return new ChatResponse(List.of(new Generation("too late")));
+        });
+
+        long startedAt = System.nanoTime();
+        String analysis = trafficAnalysisService.analyzeTrafficPatterns(monday, monday).join();
+
+        assertTrue(analysis.startsWith("AI analysis is unavailable (AI service did not answer"));
+        assertTrue(System.nanoTime() - startedAt < Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test
+    void analyzeTrafficPatterns_WithNoData_ShouldNotCallChatClient() {
+        when(trafficDataService.getDailyCarCounts(today.minusDays(7), today)).thenReturn(Map.of());
+
+        String analysis = trafficAnalysisService.analyzeTrafficPatterns(today.minusDays(7), today).join();
+
+        assertEquals("No traffic data available for the specified period.", analysis);
+        verifyNoInteractions(chatClient, partitionedTrafficAggregator);
+    }
+
+    @Test
+    void analyzeTrafficPatterns_WithCompactedRange_ShouldDescribeItFromDailyTotals() {
+        LocalDate monday = LocalDate.of(2022, 1, 3);
+        TrafficAggregate rollups = TrafficAggregate.empty();
+        rollups.addHour(8, 4, 120, 20, 40);
+        when(trafficDataService.getDailyCarCounts(monday, monday)).thenReturn(Map.of(monday, 120L));
+        when(partitionedTrafficAggregator.aggregate(monday.atStartOfDay(), monday.plusDays(1).atStartOfDay()))
+            .thenReturn(rollups);
+        when(trafficDataRepository.findSamplesBetween(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(chatClient.call(any(Prompt.class)))
+            .thenReturn(new ChatResponse(List.of(new Generation("Compacted Monday"))));
+
+        assertEquals("Compacted Monday", trafficAnalysisService.analyzeTrafficPatterns(monday, monday).join());
+
+        ArgumentCaptor<Prompt> promptCaptor = ArgumentCaptor.forClass(Prompt.class);
+        verify(chatClient).call(promptCaptor.capture());
+        String prompt = promptCaptor.getValue().getContents();
+        assertTrue(prompt.contains("Total Records: 4"));
+        assertTrue(prompt.contains("Total Cars: 120"));
+        assertTrue(prompt.contains("(cars per day, downsampled"));
+        assertTrue(prompt.contains("- 2022-01-03: 120 cars"));
+    }
+
     @Test
     void predictTraffic_WithValidData_ReturnsPrediction() {
         LocalDateTime startTime = now.plusHours(1);
         LocalDateTime endTime = now.plusHours(2);
 
-        TrafficData historicalData1 = new TrafficData(now.minusDays(1), 10);
-        TrafficData historicalData2 = new TrafficData(now.minusDays(2), 15);
-        TrafficData historicalData3 = new TrafficData(now.minusDays(3), 20);
-        
-        when(trafficDataRepository.findByTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(
-            startTime.minusDays(30),
-            startTime
-        )).thenReturn(Arrays.asList(historicalData1, historicalData2, historicalData3));
+        seasonalTrafficModel.record(List.of(
+            new TrafficSample(startTime.minusWeeks(1), 10),
+            new TrafficSample(startTime.minusWeeks(2), 15),
+            new TrafficSample(startTime.minusWeeks(3), 20)
+        ));
 
         TrafficPrediction result = trafficAnalysisService.predictTraffic(startTime, endTime);
 
@@ -70,6 +321,91 @@ class TrafficAnalysisServiceTest {
         assertTrue(result.getExpectedVolume() >= 0, "Expected volume should be non-negative");
         assertTrue(result.getExpectedTravelTimeMinutes() > 0, "Expected travel time should be positive");
         assertNotNull(result.getDetails());
+        verifyNoInteractions(partitionedTrafficAggregator, trafficDataRepository);
+    }
+
+    @Test
+    void predictTraffic_ShouldReflectRequestedSlots() {
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 0, 0);
+        seasonalTrafficModel.record(List.of(
+            new TrafficSample(monday.withHour(3), 2),
+            new TrafficSample(monday.withHour(8), 40),
+            new TrafficSample(monday.withHour(8).withMinute(30), 50)
+        ));
+
+        LocalDateTime nextMonday = monday.plusWeeks(1);
+        TrafficPrediction rushHour = trafficAnalysisService.predictTraffic(nextMonday.withHour(8), nextMonday.withHour(9));
+        TrafficPrediction night = trafficAnalysisService.predictTraffic(nextMonday.withHour(3), nextMonday.withHour(3).withMinute(30));
+
+        assertEquals("HIGH", rushHour.getTrafficCondition());
+        assertEquals(90, rushHour.getExpectedVolume());
+        assertTrue(rushHour.getDetails().contains("MONDAY 08:30"));
+        assertEquals("LOW", night.getTrafficCondition());
+        assertEquals(2, night.getExpectedVolume());
+    }
+
+    @Test
+    void predictTraffic_WithWeeksOfHistory_ShouldUseHoltWintersWithInterval() {
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<TrafficSample> history = new ArrayList<>();
+        for (int slot = 0; slot < 3 * 7 * 48; slot++) {
+            LocalDateTime timestamp = monday.plusMinutes(30L * slot);
+            history.add(new TrafficSample(timestamp, (timestamp.getHour() == 8 ? 40 : 5) + slot % 5));
+        }
+        seasonalTrafficModel.record(history);
+        holtWintersTrafficForecaster.record(history);
+
+        LocalDateTime nextMonday = monday.plusWeeks(3);
+        TrafficPrediction rushHour = trafficAnalysisService.predictTraffic(nextMonday.withHour(8), nextMonday.withHour(9));
+
+        assertEquals("HIGH", rushHour.getTrafficCondition());
+        assertTrue(rushHour.getDetails().startsWith("Holt-Winters forecast over 2 half-hour slots"));
+        assertTrue(rushHour.getExpectedVolumeLower() < rushHour.getExpectedVolume());
+        assertTrue(rushHour.getExpectedVolumeUpper() > rushHour.getExpectedVolume());
+        assertTrue(rushHour.getConfidenceScore() > 0 && rushHour.getConfidenceScore() < 1);
+    }
+
+    @Test
+    void predictTraffic_WithPrecomputedForecasts_ShouldServeThemAndComputeTheRestOnDemand() {
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<TrafficSample> history = new ArrayList<>();
+        for (int slot = 0; slot < 3 * 7 * 48; slot++) {
+            LocalDateTime timestamp = monday.plusMinutes(30L * slot);
+            history.add(new TrafficSample(timestamp, (timestamp.getHour() == 8 ? 40 : 5) + slot % 5));
+        }
+        holtWintersTrafficForecaster.record(history);
+        LocalDateTime nextMonday = monday.plusWeeks(3);
+        TrafficPrediction onDemand = trafficAnalysisService.predictTraffic(nextMonday.withHour(8), nextMonday.withHour(9));
+
+        trafficForecastStore.refresh();
+        TrafficPrediction precomputed = trafficAnalysisService.predictTraffic(nextMonday.withHour(8), nextMonday.withHour(9));
+        TrafficPrediction beyondStore = trafficAnalysisService.predictTraffic(
+            nextMonday.plusWeeks(2).withHour(8), nextMonday.plusWeeks(2).withHour(9));
+
+        assertEquals(onDemand, precomputed);
+        assertEquals(precomputed.getExpectedVolume(), beyondStore.getExpectedVolume(), 5);
+        assertEquals(1.0, storeLookups("hit"));
+        assertEquals(2.0, storeLookups("miss"));
+    }
+
+    @Test
+    void backtestForecast_ShouldReplayStoredHistory() {
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<TrafficSample> history = new ArrayList<>();
+        for (int slot = 0; slot < 3 * 7 * 48; slot++) {
+            LocalDateTime timestamp = monday.plusMinutes(30L * slot);
+            history.add(new TrafficSample(timestamp, (timestamp.getHour() == 8 ? 40 : 5) + slot % 5));
+        }
+        when(trafficDataRepository.findSamplesAfter(any(), any(Pageable.class))).thenReturn(history);
+
+        BacktestReport report = trafficAnalysisService.backtestForecast(monday, monday.plusWeeks(3), Duration.ofHours(1));
+
+        assertEquals(2, report.horizonSlots());
+        assertEquals(history.size(), report.samples());
+        assertTrue(report.forecasts() > 0);
+        verify(trafficDataRepository).findSamplesAfter(eq(monday.minusNanos(1)), any(Pageable.class));
+        assertThrows(IllegalArgumentException.class,
+            () -> trafficAnalysisService.backtestForecast(monday, monday.plusWeeks(3), Duration.ofMinutes(45)));
     }
 
     @Test
@@ -77,11 +413,82 @@ class TrafficAnalysisServiceTest {
         LocalDateTime startTime = now.plusHours(1);
         LocalDateTime endTime = now.plusHours(2);
 
-        when(trafficDataRepository.findByTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(any(), any()))
-            .thenReturn(List.of());
-
         assertThrows(IllegalStateException.class, () -> {
             trafficAnalysisService.predictTraffic(startTime, endTime);
         });
     }
+
+    @Test
+    void forecastTraffic_ShouldReturnOnePredictionPerStep() {
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 0, 0);
+        seasonalTrafficModel.record(List.of(
+            new TrafficSample(monday.withHour(8), 40),
+            new TrafficSample(monday.withHour(9), 4)
+        ));
+
+        List<TrafficPrediction> forecast = trafficAnalysisService.forecastTraffic(
+            monday.plusWeeks(1).withHour(8), Duration.ofHours(2), Duration.ofMinutes(30));
+
+        assertEquals(4, forecast.size());
+        assertEquals(monday.plusWeeks(1).withHour(8).withMinute(30), forecast.get(1).getStartTime());
+        assertEquals(List.of("HIGH", "UNKNOWN", "LOW", "UNKNOWN"),
+            forecast.stream().map(TrafficPrediction::getTrafficCondition).toList());
+        assertEquals(0.0, forecast.get(1).getConfidenceScore());
+    }
+
+    @Test
+    void forecastTraffic_BeyondHoltWintersHorizon_ShouldFallBackToSlotAverages() {
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<TrafficSample> history = new ArrayList<>();
+        for (int slot = 0; slot < 3 * 7 * 48; slot++) {
+            LocalDateTime timestamp = monday.plusMinutes(30L * slot);
+            history.add(new TrafficSample(timestamp, (timestamp.getHour() == 8 ? 40 : 5) + slot % 5));
+        }
+        seasonalTrafficModel.record(history);
+        holtWintersTrafficForecaster.record(history);
+        LocalDateTime start = monday.plusWeeks(3).withHour(8);
+
+        List<TrafficPrediction> forecast = trafficAnalysisService.forecastTraffic(
+            start, Duration.ofDays(56), Duration.ofDays(7));
+        TrafficPrediction farAhead = trafficAnalysisService.predictTraffic(
+            LocalDateTime.of(9999, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 1, 0));
+
+        assertEquals(8, forecast.size());
+        assertTrue(forecast.get(2).getDetails().startsWith("Holt-Winters forecast"));
+        assertTrue(forecast.get(3).getDetails().startsWith("Seasonal estimate"));
+        assertTrue(farAhead.getDetails().startsWith("Seasonal estimate"));
+    }
+
+    @Test
+    void forecastTraffic_WithInvalidStep_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+            () -> trafficAnalysisService.forecastTraffic(now, Duration.ofHours(1), Duration.ofHours(2)));
+        assertThrows(IllegalArgumentException.class,
+            () -> trafficAnalysisService.forecastTraffic(now, Duration.ofDays(365), Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> trafficAnalysisService.forecastTraffic(now, Duration.ofHours(1), Duration.ZERO));
+    }
+
+    @Test
+    void forecastTraffic_WithNoHistoricalData_ThrowsException() {
+        assertThrows(IllegalStateException.class,
+            () -> trafficAnalysisService.forecastTraffic(now, Duration.ofHours(1), Duration.ofMinutes(30)));
+    }
+
+    private double storeLookups(String result) {
+        return storeMeterRegistry.get("traffic.forecast.store.lookups").tag("result", result).counter().count();
+    }
+
+    private static Map<LocalDate, Long> dailyTotalsOf(List<TrafficData> records) {
+        Map<LocalDate, Long> totals = new TreeMap<>();
+        records.forEach(data -> totals.merge(data.getTimestamp().toLocalDate(), (long) data.getCarCount(), Long::sum));
+        return totals;
+    }
+
+    private static TrafficAggregate aggregateOf(List<TrafficData> records) {
+        TrafficAggregate aggregate = TrafficAggregate.empty();
+        records.forEach(data -> aggregate.addHour(
+            data.getTimestamp().getHour(), 1, data.getCarCount(), data.getCarCount(), data.getCarCount()));
+        return aggregate;
+    }
 }
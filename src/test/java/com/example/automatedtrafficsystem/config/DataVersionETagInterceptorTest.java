@@ -0,0 +1,92 @@
+package com.example.automatedtrafficsystem.config;
+
+import com.example.automatedtrafficsystem.controller.TrafficReportController;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataVersion;
+import com.example.automatedtrafficsystem.service.TrafficReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataVersionETagInterceptorTest {
+
+    @Mock
+    private TrafficReportService trafficReportService;
+
+    private final TrafficDataVersion trafficDataVersion = new TrafficDataVersion();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new TrafficReportController(trafficReportService))
+                .addMappedInterceptors(new String[]{"/api/reports"}, new DataVersionETagInterceptor(trafficDataVersion))
+                .build();
+    }
+
+    @Test
+    void conditionalGet_WithUnchangedVersion_ShouldReturn304WithoutBuildingReport() throws Exception {
+        when(trafficReportService.generateReport()).thenReturn("Total cars seen: 1");
+
+        String etag = mockMvc.perform(get("/api/reports").accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/reports").accept(MediaType.TEXT_PLAIN).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(trafficReportService, times(1)).generateReport();
+    }
+
+    @Test
+    void conditionalGet_AfterCommittedIngest_ShouldServeFreshBody() throws Exception {
+        when(trafficReportService.generateReport()).thenReturn("Total cars seen: 1");
+        String etag = mockMvc.perform(get("/api/reports").accept(MediaType.TEXT_PLAIN))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        trafficDataVersion.onTrafficDataIngested(TrafficDataIngestedEvent.of(List.of()));
+
+        String refreshed = mockMvc.perform(get("/api/reports").accept(MediaType.TEXT_PLAIN)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, refreshed);
+    }
+
+    @Test
+    void conditionalGet_ShouldTagRepresentationsSeparately() throws Exception {
+        when(trafficReportService.generateReport()).thenReturn("Total cars seen: 1");
+        String textTag = mockMvc.perform(get("/api/reports").accept(MediaType.TEXT_PLAIN))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/reports").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, textTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void replayedEvents_ShouldNotChangeVersion() {
+        trafficDataVersion.onTrafficDataIngested(TrafficDataIngestedEvent.replay(List.of()));
+
+        assertEquals(0, trafficDataVersion.current());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.automatedtrafficsystem.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replica, meterRegistry, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransaction_ShouldUseReplica() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_OutsideReadOnlyTransaction_ShouldUsePrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void getConnection_WhenReplicaFails_ShouldFallBackToPrimaryAndStopRouting() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertSame(primaryConnection, routingDataSource.getConnection());
+
+        assertFalse(routingDataSource.isReplicaAvailable());
+        verify(replica, times(1)).getConnection();
+        assertEquals(1.0, meterRegistry.get("datasource.replica.fallbacks").counter().count());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.available").gauge().value());
+    }
+
+    @Test
+    void getConnection_AfterReplicaRecovers_ShouldRouteToReplicaAgain() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routingDataSource.markReplicaUnavailable("lag");
+        routingDataSource.markReplicaAvailable();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_WithinReadAfterWriteWindow_ShouldUsePrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        routingDataSource.holdReadsOnPrimary(Duration.ofSeconds(5));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replica);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.automatedtrafficsystem.config;
+
+import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryRowCountInterceptorTest {
+
+    @Mock
+    private MethodInvocation invocation;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepositoryRowCountInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new RepositoryRowCountInterceptor(() -> meterRegistry, TrafficDataRepository.class);
+    }
+
+    @Test
+    void invoke_WithCollectionResult_ShouldCountRowsPerMethod() throws Throwable {
+        Method method = TrafficDataRepository.class.getMethod("findAll");
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenReturn(List.of(1, 2, 3), List.of(4));
+
+        interceptor.invoke(invocation);
+        interceptor.invoke(invocation);
+
+        assertEquals(4.0, rows("findAll"));
+    }
+
+    @Test
+    void invoke_WithStreamResult_ShouldCountConsumedRowsOnClose() throws Throwable {
+        Method method = TrafficDataRepository.class.getMethod("findAll");
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.proceed()).thenReturn(Stream.of(1, 2, 3));
+
+        try (Stream<?> stream = (Stream<?>) interceptor.invoke(invocation)) {
+            assertEquals(3, stream.toList().size());
+            assertEquals(0.0, rows("findAll"));
+        }
+
+        assertEquals(3.0, rows("findAll"));
+    }
+
+    @Test
+    void rowCount_ShouldHandleSlicesOptionalsAndScalars() {
+        assertEquals(2, RepositoryRowCountInterceptor.rowCount(new PageImpl<>(List.of(1, 2))));
+        assertEquals(1, RepositoryRowCountInterceptor.rowCount(Optional.of(1)));
+        assertEquals(0, RepositoryRowCountInterceptor.rowCount(Optional.empty()));
+        assertEquals(1, RepositoryRowCountInterceptor.rowCount(42L));
+        assertEquals(0, RepositoryRowCountInterceptor.rowCount(null));
+    }
+
+    private double rows(String method) {
+        return meterRegistry.get(RepositoryRowCountInterceptor.METRIC_NAME)
+                .tag("repository", "TrafficDataRepository")
+                .tag("method", method)
+                .counter().count();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.automatedtrafficsystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UnboundedAsyncTimeoutInterceptorTest {
+
+    private final UnboundedAsyncTimeoutInterceptor interceptor = new UnboundedAsyncTimeoutInterceptor();
+
+    @Test
+    void beforeConcurrentHandling_WhenRequested_ShouldLiftTimeout() {
+        MockHttpServletRequest request = asyncRequest();
+        UnboundedAsyncTimeoutInterceptor.requestUnboundedTimeout(request);
+
+        assertEquals(-1, startAsync(request));
+    }
+
+    @Test
+    void beforeConcurrentHandling_WhenNotRequested_ShouldKeepConfiguredTimeout() {
+        assertEquals(60_000, startAsync(asyncRequest()));
+    }
+
+    private long startAsync(MockHttpServletRequest request) {
+        StandardServletAsyncWebRequest asyncWebRequest =
+                new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncWebRequest.setTimeout(60_000L);
+        interceptor.beforeConcurrentHandling(asyncWebRequest, () -> null);
+        asyncWebRequest.startAsync();
+        return request.getAsyncContext().getTimeout();
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
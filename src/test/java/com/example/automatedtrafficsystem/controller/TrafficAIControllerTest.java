@@ -2,6 +2,9 @@ package com.example.automatedtrafficsystem.controller;
 
 import com.example.automatedtrafficsystem.ai.TrafficAnalysisService;
 import com.example.automatedtrafficsystem.ai.TrafficPrediction;
+import com.example.automatedtrafficsystem.exception.GlobalExceptionHandler;
+import com.example.automatedtrafficsystem.forecast.BacktestReport;
+import com.example.automatedtrafficsystem.forecast.HoltWintersModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,14 +13,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,16 +57,79 @@ public class TrafficAIControllerTest {
         LocalDate endDate = today;
         
         when(trafficAnalysisService.analyzeTrafficPatterns(startDate, endDate))
-            .thenReturn(analysisResult);
+            .thenReturn(CompletableFuture.completedFuture(analysisResult));
 
-        mockMvc.perform(get("/api/ai/traffic/analyze")
+        MvcResult asyncResult = mockMvc.perform(get("/api/ai/traffic/analyze")
                 .param("startDate", startDate.toString())
                 .param("endDate", endDate.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string(containsString(analysisResult)));
     }
 
+    @Test
+    void streamTrafficAnalysis_ShouldSendTokenEventsThenDone() throws Exception {
+        when(trafficAnalysisService.streamTrafficAnalysis(today.minusDays(1), today))
+            .thenReturn(Flux.just("Heavy ", "mornings"));
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/ai/traffic/analyze/stream")
+                .param("startDate", today.minusDays(1).toString())
+                .param("endDate", today.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(
+                        "event:token\ndata:Heavy \n\nevent:token\ndata:mornings\n\nevent:done\ndata:\n\n"));
+    }
+
+    @Test
+    void streamTrafficAnalysis_WhenStreamFails_ShouldSendErrorEvent() throws Exception {
+        when(trafficAnalysisService.streamTrafficAnalysis(any(), any()))
+            .thenReturn(Flux.concat(Flux.just("Heavy "), Flux.error(new IllegalStateException("connection reset"))));
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/ai/traffic/analyze/stream")
+                .param("startDate", today.minusDays(1).toString())
+                .param("endDate", today.toString()))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:error\ndata:Analysis failed: connection reset")));
+    }
+
+    @Test
+    void streamTrafficAnalysis_WithInvalidDateRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/ai/traffic/analyze/stream")
+                .param("startDate", today.toString())
+                .param("endDate", today.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void analyzeTrafficPatterns_WhenAiPoolIsSaturated_ShouldReturnServiceUnavailable() throws Exception {
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(trafficAIController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(trafficAnalysisService.analyzeTrafficPatterns(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("pool full")));
+
+        MvcResult asyncResult = mockMvcWithAdvice.perform(get("/api/ai/traffic/analyze")
+                        .param("startDate", today.minusDays(7).toString())
+                        .param("endDate", today.toString()))
+                .andReturn();
+
+        mockMvcWithAdvice.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_BUSY"));
+    }
+
     @Test
     void predictTraffic_WithValidTimeRange_ShouldReturnPrediction() throws Exception {
         LocalDateTime startTime = now.plusHours(1);
@@ -102,4 +176,47 @@ public class TrafficAIControllerTest {
                         .param("endTime", endTime.toString()))
                 .andExpect(status().isUnprocessableEntity());
     }
+
+    @Test
+    void forecastTraffic_ShouldReturnOnePredictionPerStep() throws Exception {
+        LocalDateTime startTime = now.plusHours(1);
+        when(trafficAnalysisService.forecastTraffic(startTime, Duration.ofHours(1), Duration.ofMinutes(30)))
+                .thenReturn(List.of(
+                        TrafficPrediction.builder().startTime(startTime).trafficCondition("LOW").build(),
+                        TrafficPrediction.builder().startTime(startTime.plusMinutes(30)).trafficCondition("HIGH").build()));
+
+        mockMvc.perform(get("/api/ai/traffic/forecast")
+                        .param("startTime", startTime.toString())
+                        .param("horizon", "PT1H")
+                        .param("step", "PT30M"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].trafficCondition").value("HIGH"));
+    }
+
+    @Test
+    void forecastTraffic_WithInsufficientData_ShouldReturnUnprocessableEntity() throws Exception {
+        when(trafficAnalysisService.forecastTraffic(any(), any(), any()))
+                .thenThrow(new IllegalStateException("Insufficient historical data for prediction"));
+
+        mockMvc.perform(get("/api/ai/traffic/forecast")
+                        .param("startTime", now.plusHours(1).toString()))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void backtestForecast_ShouldReturnReport() throws Exception {
+        LocalDateTime from = now.minusWeeks(4);
+        BacktestReport report = new BacktestReport(from, now, 48, HoltWintersModel.Parameters.DEFAULT, 1344, 1344,
+                600, 3.2, 4.1, 0.15, 0.95, 3.4, 0.06, 1.5, 896_000, 750_000);
+        when(trafficAnalysisService.backtestForecast(from, now, Duration.ofHours(24))).thenReturn(report);
+
+        mockMvc.perform(get("/api/ai/traffic/forecast/backtest")
+                        .param("from", from.toString())
+                        .param("to", now.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.horizonSlots").value(48))
+                .andExpect(jsonPath("$.intervalCoverage").value(0.95))
+                .andExpect(jsonPath("$.parameters.alpha").value(0.1));
+    }
 }
@@ -2,7 +2,9 @@ package com.example.automatedtrafficsystem.controller;
 
 import com.example.automatedtrafficsystem.exception.GlobalExceptionHandler;
 import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficDataView;
 import com.example.automatedtrafficsystem.service.TrafficDataService;
+import com.example.automatedtrafficsystem.util.PaginationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,8 +45,8 @@ class TrafficDataControllerTest {
 
     private MockMvc mockMvc;
 
-    private TrafficData data1;
-    private TrafficData data2;
+    private TrafficDataView data1;
+    private TrafficDataView data2;
     private final LocalDateTime now = LocalDateTime.now();
 
     @BeforeEach
@@ -53,17 +55,8 @@ class TrafficDataControllerTest {
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
 
-        data1 = new TrafficData();
-        data1.setId(1L);
-        data1.setTimestamp(now.minusHours(1));
-        data1.setCarCount(10);
-        data1.setCreatedAt(now);
-
-        data2 = new TrafficData();
-        data2.setId(2L);
-        data2.setTimestamp(now.minusHours(2));
-        data2.setCarCount(20);
-        data2.setCreatedAt(now.minusHours(1));
+        data1 = new TrafficDataView(1L, now.minusHours(1), 10, now);
+        data2 = new TrafficDataView(2L, now.minusHours(2), 20, now.minusHours(1));
     }
 
     @Test
@@ -107,7 +100,7 @@ class TrafficDataControllerTest {
 
     @Test
     void getTotalCars_ShouldReturnTotalCount() throws Exception {
-        when(trafficDataService.getTotalCars()).thenReturn(30L);
+        when(trafficDataService.getTotalCars(null, null)).thenReturn(30L);
 
         mockMvc.perform(get("/api/v1/traffic/total"))
                 .andExpect(status().isOk())
@@ -115,6 +108,19 @@ class TrafficDataControllerTest {
                 .andExpect(jsonPath("$", is(30)));
     }
 
+    @Test
+    void getTotalCars_WithDateRange_ShouldPassBoundsToService() throws Exception {
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        LocalDate to = LocalDate.of(2023, 1, 31);
+        when(trafficDataService.getTotalCars(from, to)).thenReturn(12L);
+
+        mockMvc.perform(get("/api/v1/traffic/total")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(12)));
+    }
+
     @Test
     void getDailyCarCounts_ShouldReturnDailyCounts() throws Exception {
         LocalDate today = LocalDate.now();
@@ -123,7 +129,7 @@ class TrafficDataControllerTest {
         Map<LocalDate, Long> dailyCounts = new HashMap<>();
         dailyCounts.put(today, 30L);
         dailyCounts.put(yesterday, 15L);
-        when(trafficDataService.getDailyCarCounts()).thenReturn(dailyCounts);
+        when(trafficDataService.getDailyCarCounts(null, null)).thenReturn(dailyCounts);
 
         mockMvc.perform(get("/api/v1/traffic/daily"))
                 .andExpect(status().isOk())
@@ -135,20 +141,23 @@ class TrafficDataControllerTest {
 
     @Test
     void getTopThreeHalfHours_ShouldReturnTopThreeRecords() throws Exception {
-        List<TrafficData> topThree = Arrays.asList(data2, data1);
-        when(trafficDataService.getTopThreeHalfHours()).thenReturn(topThree);
+        List<TrafficDataView> topThree = Arrays.asList(data2, data1);
+        when(trafficDataService.getTopThreeHalfHours(null, null)).thenReturn(topThree);
 
         mockMvc.perform(get("/api/v1/traffic/top-three"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(jsonPath("$[0].timestamp").exists())
+                .andExpect(jsonPath("$[0].createdAt").exists())
                 .andExpect(jsonPath("$[0].carCount", is(20)))
                 .andExpect(jsonPath("$[1].carCount", is(10)));
     }
 
     @Test
     void getLeastCarsPeriod_ShouldReturnContiguousPeriod() throws Exception {
-        when(trafficDataService.findLeastCarsContiguousPeriod()).thenReturn(Arrays.asList(data1, data2));
+        when(trafficDataService.findLeastCarsContiguousPeriod(null, null)).thenReturn(Arrays.asList(data1, data2));
 
         mockMvc.perform(get("/api/v1/traffic/least-cars-period"))
                 .andExpect(status().isOk())
@@ -156,6 +165,17 @@ class TrafficDataControllerTest {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void getLeastCarsPeriod_WithInvertedRange_ShouldReturnBadRequest() throws Exception {
+        when(trafficDataService.findLeastCarsContiguousPeriod(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 1, 1)))
+                .thenThrow(new IllegalArgumentException("From date must be before or equal to to date"));
+
+        mockMvc.perform(get("/api/v1/traffic/least-cars-period")
+                        .param("from", "2023-02-01")
+                        .param("to", "2023-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void addTrafficData_WithValidData_ShouldReturnSavedData() throws Exception {
         LocalDateTime timestamp = LocalDateTime.now();
@@ -194,9 +214,9 @@ class TrafficDataControllerTest {
 
     @Test
     void getTrafficData_WithPagination_ShouldReturnPaginatedResults() throws Exception {
-        List<TrafficData> trafficDataList = Arrays.asList(data1, data2);
+        List<TrafficDataView> trafficDataList = Arrays.asList(data1, data2);
         Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "timestamp"));
-        Page<TrafficData> page = new PageImpl<>(trafficDataList, pageable, trafficDataList.size());
+        Page<TrafficDataView> page = new PageImpl<>(trafficDataList, pageable, trafficDataList.size());
         when(trafficDataService.getAllTrafficData(any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/v1/traffic")
@@ -211,9 +231,9 @@ class TrafficDataControllerTest {
 
     @Test
     void getTrafficData_WithInvalidSort_ShouldFallbackToTimestamp() throws Exception {
-        List<TrafficData> trafficDataList = Arrays.asList(data1, data2);
+        List<TrafficDataView> trafficDataList = Arrays.asList(data1, data2);
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "timestamp"));
-        Page<TrafficData> page = new PageImpl<>(trafficDataList, pageable, trafficDataList.size());
+        Page<TrafficDataView> page = new PageImpl<>(trafficDataList, pageable, trafficDataList.size());
         when(trafficDataService.getAllTrafficData(any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/v1/traffic")
@@ -230,6 +250,47 @@ class TrafficDataControllerTest {
         assertEquals(Sort.Direction.DESC, order.getDirection());
     }
 
+    @Test
+    void getTrafficDataAfterCursor_WithMoreRows_ShouldReturnNextCursorWithoutCount() throws Exception {
+        when(trafficDataService.getTrafficDataAfter(null, 1, false)).thenReturn(Arrays.asList(data1, data2));
+
+        String expectedCursor = PaginationUtil.encodeCursor(new PaginationUtil.Cursor(data1.getTimestamp(), 1L));
+        mockMvc.perform(get("/api/v1/traffic")
+                        .param("after", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.last", is(false)))
+                .andExpect(jsonPath("$.nextCursor", is(expectedCursor)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(trafficDataService, never()).getAllTrafficData(any(Pageable.class));
+    }
+
+    @Test
+    void getTrafficDataAfterCursor_ShouldDecodeCursorAndSortDirection() throws Exception {
+        PaginationUtil.Cursor cursor = new PaginationUtil.Cursor(data2.getTimestamp(), 2L);
+        when(trafficDataService.getTrafficDataAfter(cursor, 10, true)).thenReturn(List.of(data1));
+
+        mockMvc.perform(get("/api/v1/traffic")
+                        .param("after", PaginationUtil.encodeCursor(cursor))
+                        .param("sort", "timestamp,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last", is(true)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTrafficDataAfterCursor_WithMalformedCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/traffic")
+                        .param("after", "!!not-a-cursor!!"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(trafficDataService);
+    }
+
     @Test
     void getTrafficStatsV2_ShouldReturnStatistics() throws Exception {
         Map<String, Object> stats = new HashMap<>();
@@ -0,0 +1,131 @@
+package com.example.automatedtrafficsystem.controller;
+
+import com.example.automatedtrafficsystem.exception.GlobalExceptionHandler;
+import com.example.automatedtrafficsystem.export.TrafficDataExporter;
+import com.example.automatedtrafficsystem.export.TrafficExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrafficExportControllerTest {
+
+    @Mock
+    private TrafficDataExporter trafficDataExporter;
+
+    @InjectMocks
+    private TrafficExportController trafficExportController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(trafficExportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void exportTrafficData_AsNdjson_ShouldStreamExporterOutputForRange() throws Exception {
+        when(trafficDataExporter.export(
+                eq(LocalDateTime.of(2023, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2023, 2, 1, 0, 0)),
+                eq(TrafficExportFormat.NDJSON),
+                any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, OutputStream.class).write("{}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/v2/traffic/export")
+                        .param("from", "2023-01-01")
+                        .param("to", "2023-01-31")
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{}\n"));
+    }
+
+    @Test
+    void exportTrafficData_WhenClientAcceptsGzip_ShouldCompressOnTheFly() throws Exception {
+        when(trafficDataExporter.export(any(), any(), eq(TrafficExportFormat.CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, OutputStream.class).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/v2/traffic/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("id\n1\n", new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportTrafficData_WhenGzipHasZeroQuality_ShouldNotCompress() throws Exception {
+        when(trafficDataExporter.export(any(), any(), eq(TrafficExportFormat.CSV), any(OutputStream.class)))
+                .thenReturn(0L);
+
+        MvcResult result = mockMvc.perform(get("/api/v2/traffic/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonourQualityValues() {
+        assertTrue(TrafficExportController.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(TrafficExportController.acceptsGzip("*"));
+        assertFalse(TrafficExportController.acceptsGzip("gzip;q=0, *"));
+        assertFalse(TrafficExportController.acceptsGzip("GZIP; Q=0.0"));
+        assertFalse(TrafficExportController.acceptsGzip("br, identity"));
+        assertFalse(TrafficExportController.acceptsGzip(null));
+    }
+
+    @Test
+    void exportTrafficData_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v2/traffic/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(trafficDataExporter);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.automatedtrafficsystem.controller;
+
+import com.example.automatedtrafficsystem.exception.GlobalExceptionHandler;
+import com.example.automatedtrafficsystem.model.TrafficAnomaly;
+import com.example.automatedtrafficsystem.model.TrafficAnomalyView;
+import com.example.automatedtrafficsystem.service.TrafficStatisticsService;
+import com.example.automatedtrafficsystem.stats.DailyTrafficIndex;
+import com.example.automatedtrafficsystem.stats.PercentileSummary;
+import com.example.automatedtrafficsystem.stats.TrafficHeatmap;
+import com.example.automatedtrafficsystem.stats.TrafficPercentileStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrafficStatisticsControllerTest {
+
+    @Mock
+    private TrafficStatisticsService trafficStatisticsService;
+
+    @InjectMocks
+    private TrafficStatisticsController trafficStatisticsController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(trafficStatisticsController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getPercentileStatistics_ShouldReturnSummaries() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 7);
+        PercentileSummary summary = new PercentileSummary(14, 2, 40, 18.5, 17, 35, 40);
+        when(trafficStatisticsService.getPercentileStatistics(from, to)).thenReturn(new TrafficPercentileStatistics(
+                from, to, summary, Map.of("08:00", summary), Map.of(DayOfWeek.MONDAY, summary)));
+
+        mockMvc.perform(get("/api/v2/traffic/stats/percentiles")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.overall.p90", is(35)))
+                .andExpect(jsonPath("$.byHourOfDay['08:00'].p50", is(17)))
+                .andExpect(jsonPath("$.byDayOfWeek.MONDAY.p99", is(40)));
+    }
+
+    @Test
+    void getHeatmap_ShouldReturnMatrix() throws Exception {
+        TrafficHeatmap heatmap = new DailyTrafficIndex().getHeatmap(null, null);
+        when(trafficStatisticsService.getHeatmap(null, null)).thenReturn(heatmap);
+
+        mockMvc.perform(get("/api/v2/traffic/stats/heatmap"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.days", hasSize(7)))
+                .andExpect(jsonPath("$.slots", hasSize(48)))
+                .andExpect(jsonPath("$.averages[0]", hasSize(48)));
+    }
+
+    @Test
+    void getPercentileStatistics_WithInvertedRange_ShouldReturnBadRequest() throws Exception {
+        when(trafficStatisticsService.getPercentileStatistics(any(), any()))
+                .thenThrow(new IllegalArgumentException("From date must be before or equal to to date"));
+
+        mockMvc.perform(get("/api/v2/traffic/stats/percentiles")
+                        .param("from", "2024-01-07")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("BAD_REQUEST")));
+    }
+
+    @Test
+    void getAnomalies_ShouldReturnFlaggedRecords() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        TrafficAnomalyView spike = new TrafficAnomalyView(1L, LocalDateTime.of(2024, 1, 1, 8, 0), 90, 20.0, 4.47, 15.65,
+                TrafficAnomaly.Type.SPIKE, LocalDateTime.of(2024, 1, 1, 8, 1));
+        when(trafficStatisticsService.getAnomalies(from, null, 50)).thenReturn(List.of(spike));
+
+        mockMvc.perform(get("/api/v2/traffic/stats/anomalies")
+                        .param("from", from.toString())
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].carCount", is(90)))
+                .andExpect(jsonPath("$[0].type", is("SPIKE")))
+                .andExpect(jsonPath("$[0].score", is(15.65)));
+    }
+
+    @Test
+    void getAnomalies_WithInvertedRange_ShouldReturnBadRequest() throws Exception {
+        when(trafficStatisticsService.getAnomalies(any(), any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("From date must be before or equal to to date"));
+
+        mockMvc.perform(get("/api/v2/traffic/stats/anomalies")
+                        .param("from", "2024-01-07")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("BAD_REQUEST")));
+    }
+}
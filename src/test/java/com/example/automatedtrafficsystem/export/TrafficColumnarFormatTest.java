@@ -0,0 +1,95 @@
+package com.example.automatedtrafficsystem.export;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficColumnarFormatTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    @Test
+    void writeThenRead_ShouldRoundTripIrregularSeriesAcrossBlocks() throws IOException {
+        List<TrafficSample> samples = new ArrayList<>();
+        LocalDateTime timestamp = START;
+        for (int i = 0; i < 25; i++) {
+            samples.add(new TrafficSample(timestamp, (i * 37) % 90));
+            timestamp = timestamp.plusMinutes(i % 7 == 0 ? 90 : 30);
+        }
+        samples.add(new TrafficSample(START.minusDays(1), Integer.MAX_VALUE));
+
+        byte[] encoded = encode(samples, 10);
+
+        assertEquals(samples, TrafficColumnarReader.readAll(new ByteArrayInputStream(encoded)));
+    }
+
+    @Test
+    void readBlock_ShouldExposeHeadersAndSkipRejectedBlocks() throws IOException {
+        List<TrafficSample> samples = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            samples.add(new TrafficSample(START.plusMinutes(30L * i), i < 3 ? 5 : 50));
+        }
+
+        TrafficColumnarReader reader = new TrafficColumnarReader(new ByteArrayInputStream(encode(samples, 3)));
+        TrafficColumnarReader.Block busy = reader.readBlock(header -> header.maxCarCount() >= 50);
+
+        assertNotNull(busy);
+        assertEquals(3, busy.size());
+        assertEquals(150L, busy.getHeader().totalCars());
+        assertEquals(START.plusMinutes(90), busy.getHeader().firstTimestamp());
+        assertEquals(START.plusMinutes(150), busy.timestampAt(2));
+        assertNull(reader.readBlock());
+    }
+
+    @Test
+    void regularHalfHourSeries_ShouldBeFarSmallerThanCsv() throws IOException {
+        List<TrafficSample> samples = new ArrayList<>();
+        StringBuilder csv = new StringBuilder(TrafficDataExporter.CSV_HEADER);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime timestamp = START.plusMinutes(30L * i);
+            int carCount = 20 + (i % 12);
+            samples.add(new TrafficSample(timestamp, carCount));
+            csv.append(i + 1).append(',').append(timestamp).append(":00,").append(carCount)
+                    .append(',').append(timestamp).append(":00\n");
+        }
+
+        byte[] encoded = encode(samples, TrafficColumnarWriter.DEFAULT_BLOCK_SIZE);
+
+        assertTrue(encoded.length * 10 < csv.length(),
+                () -> "columnar " + encoded.length + " bytes vs csv " + csv.length());
+    }
+
+    @Test
+    void reader_WithForeignStream_ShouldReject() {
+        assertThrows(IOException.class,
+                () -> new TrafficColumnarReader(new ByteArrayInputStream("id,timestamp".getBytes())));
+    }
+
+    @Test
+    void negotiate_ShouldPreferFormatParameterThenAcceptHeader() {
+        List<MediaType> columnar = MediaType.parseMediaTypes("application/vnd.traffic.columnar, */*;q=0.1");
+
+        assertEquals(TrafficExportFormat.COLUMNAR, TrafficExportFormat.negotiate(null, columnar));
+        assertEquals(TrafficExportFormat.NDJSON, TrafficExportFormat.negotiate("ndjson", columnar));
+        assertEquals(TrafficExportFormat.CSV, TrafficExportFormat.negotiate(null, List.of(MediaType.ALL)));
+    }
+
+    private static byte[] encode(List<TrafficSample> samples, int blockSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TrafficColumnarWriter writer = new TrafficColumnarWriter(out, blockSize);
+        for (TrafficSample sample : samples) {
+            writer.write(sample.timestamp(), sample.carCount());
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.automatedtrafficsystem.export;
+
+import com.example.automatedtrafficsystem.model.TrafficDataView;
+import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrafficDataExporterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2023, 1, 2, 0, 0);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 1, 3, 8, 0);
+
+    @Mock
+    private TrafficDataRepository trafficDataRepository;
+
+    @InjectMocks
+    private TrafficDataExporter trafficDataExporter;
+
+    @Test
+    void export_AsCsv_ShouldWriteHeaderAndRowsAndCloseStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(trafficDataRepository.streamViewsBetween(START, END)).thenReturn(Stream.of(
+                new TrafficDataView(1L, LocalDateTime.of(2023, 1, 1, 12, 0), 10, CREATED_AT),
+                new TrafficDataView(2L, LocalDateTime.of(2023, 1, 1, 12, 30), 4, CREATED_AT)
+        ).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = trafficDataExporter.export(START, END, TrafficExportFormat.CSV, out);
+
+        assertEquals(2, rows);
+        assertEquals("""
+                id,timestamp,carCount,createdAt
+                1,2023-01-01T12:00:00,10,2023-01-03T08:00:00
+                2,2023-01-01T12:30:00,4,2023-01-03T08:00:00
+                """, out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        when(trafficDataRepository.streamViewsBetween(START, END)).thenReturn(Stream.of(
+                new TrafficDataView(7L, LocalDateTime.of(2023, 1, 1, 6, 30), 3, CREATED_AT)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        trafficDataExporter.export(START, END, TrafficExportFormat.NDJSON, out);
+
+        assertEquals("{\"id\":7,\"timestamp\":\"2023-01-01T06:30:00\",\"carCount\":3,"
+                + "\"createdAt\":\"2023-01-03T08:00:00\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fromParameter_WithUnknownFormat_ShouldThrow() {
+        assertEquals(TrafficExportFormat.NDJSON, TrafficExportFormat.fromParameter("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> TrafficExportFormat.fromParameter("xml"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_DAY;
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_WEEK;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoltWintersBacktestTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 3, 7, 0);
+
+    @Test
+    void run_ShouldScoreForecastsAgainstReplayedHistory() {
+        List<TrafficSample> history = history(8, new Random(1));
+
+        BacktestReport report = HoltWintersBacktest.run(history, HoltWintersModel.Parameters.DEFAULT, SLOTS_PER_DAY, 1.96);
+
+        assertEquals(START, report.from());
+        assertEquals(history.size(), report.samples());
+        assertTrue(report.slots() >= report.samples());
+        assertTrue(report.forecasts() > 5 * SLOTS_PER_WEEK);
+        assertTrue(report.mae() < 4.5, "mae " + report.mae());
+        assertTrue(report.rmse() >= report.mae());
+        assertTrue(report.intervalCoverage() > 0.9, "coverage " + report.intervalCoverage());
+        assertNotNull(report.skill());
+        assertTrue(report.fitSlotsPerSecond() > 0 && report.forecastsPerSecond() > 0);
+    }
+
+    @Test
+    void run_WithTooLittleHistory_ShouldFail() {
+        List<TrafficSample> history = history(1, new Random(1));
+
+        assertThrows(IllegalStateException.class,
+                () -> HoltWintersBacktest.run(history, HoltWintersModel.Parameters.DEFAULT, SLOTS_PER_DAY, 1.96));
+    }
+
+    @Test
+    void fit_ShouldRefitThousandsOfYearLongSeriesInSeconds() {
+        double[] series = HoltWintersBacktest.slotSeries(history(52, new Random(2)), START,
+                START.plusWeeks(52).minusMinutes(30));
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            HoltWintersBacktest.fit(new HoltWintersModel(HoltWintersModel.Parameters.DEFAULT, 0), series);
+        }
+
+        assertTrue(System.nanoTime() - startedAt < 10_000_000_000L);
+    }
+
+    // Weekday rush hours plus noise; about 2% of slots are missing.
+    private static List<TrafficSample> history(int weeks, Random random) {
+        List<TrafficSample> samples = new ArrayList<>();
+        for (int i = 0; i < weeks * SLOTS_PER_WEEK; i++) {
+            LocalDateTime timestamp = START.plusMinutes(30L * i);
+            if (i > 0 && random.nextDouble() < 0.02) {
+                continue;
+            }
+            double hour = timestamp.getHour() + timestamp.getMinute() / 60.0;
+            double expected = 20 + 15 * Math.exp(-Math.pow(hour - 8, 2) / 2) + 12 * Math.exp(-Math.pow(hour - 17.5, 2) / 2);
+            if (timestamp.getDayOfWeek().getValue() >= 6) {
+                expected /= 2;
+            }
+            samples.add(new TrafficSample(timestamp, (int) Math.max(0, Math.round(expected + random.nextGaussian() * 3))));
+        }
+        return samples;
+    }
+}
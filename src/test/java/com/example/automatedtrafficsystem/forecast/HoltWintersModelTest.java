@@ -0,0 +1,108 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_DAY;
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_WEEK;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoltWintersModelTest {
+
+    private final Random random = new Random(7);
+
+    @Test
+    void forecast_ShouldLearnDailyAndWeeklySeasonality() {
+        HoltWintersModel model = new HoltWintersModel(HoltWintersModel.Parameters.DEFAULT, 0);
+        for (int i = 0; i < 6 * SLOTS_PER_WEEK; i++) {
+            model.observe(traffic(i) + random.nextGaussian());
+        }
+
+        assertTrue(model.isReady());
+        assertEquals(0, model.nextSlot());
+        for (int step : new int[]{1, 17, 35, 5 * SLOTS_PER_DAY + 17}) {
+            assertEquals(traffic(step - 1), model.forecast(step, 1).total(), 1.5, "step " + step);
+        }
+        assertEquals(1.0, model.residualStandardDeviation(), 0.3);
+    }
+
+    @Test
+    void forecast_ShouldWidenIntervalsWithHorizon() {
+        HoltWintersModel model = new HoltWintersModel(HoltWintersModel.Parameters.DEFAULT, 0);
+        for (int i = 0; i < 3 * SLOTS_PER_WEEK; i++) {
+            model.observe(traffic(i) + random.nextGaussian() * 2);
+        }
+
+        double nextSlot = model.forecast(1, 1).standardDeviation();
+        double nextDay = model.forecast(SLOTS_PER_DAY, 1).standardDeviation();
+        double nextWeek = model.forecast(SLOTS_PER_WEEK, 1).standardDeviation();
+
+        assertEquals(model.residualStandardDeviation(), nextSlot, 1e-9);
+        assertTrue(nextSlot < nextDay && nextDay < nextWeek);
+    }
+
+    @Test
+    void forecast_ShouldSumWindowAndReportPeak() {
+        HoltWintersModel model = new HoltWintersModel(HoltWintersModel.Parameters.DEFAULT, 0);
+        for (int i = 0; i < 3 * SLOTS_PER_WEEK; i++) {
+            model.observe(traffic(i));
+        }
+
+        HoltWintersModel.Window morning = model.forecast(15, 6);
+
+        double expected = 0;
+        for (int step = 15; step <= 20; step++) {
+            expected += model.forecast(step, 1).total();
+        }
+        assertEquals(expected, morning.total(), 1e-9);
+        assertEquals(18, morning.peakStep());
+    }
+
+    @Test
+    void skip_ShouldKeepSeasonalPhaseAcrossGaps() {
+        HoltWintersModel model = new HoltWintersModel(HoltWintersModel.Parameters.DEFAULT, 0);
+        for (int i = 0; i < 4 * SLOTS_PER_WEEK; i++) {
+            if (i % 10 == 3) {
+                model.skip();
+            } else {
+                model.observe(traffic(i));
+            }
+        }
+
+        assertTrue(model.isReady());
+        assertEquals(traffic(16), model.forecast(17, 1).total(), 1.0);
+    }
+
+    @Test
+    void forecast_ShouldMatchHorizonWindowWithoutAllocatingIt() {
+        HoltWintersModel model = new HoltWintersModel(HoltWintersModel.Parameters.DEFAULT, 0);
+        for (int i = 0; i < 3 * SLOTS_PER_WEEK; i++) {
+            model.observe(traffic(i) + random.nextGaussian());
+        }
+
+        HoltWintersModel.Window expected = model.horizon(2 * SLOTS_PER_WEEK).window(SLOTS_PER_WEEK + 15, 6);
+        HoltWintersModel.Window window = model.forecast(SLOTS_PER_WEEK + 15, 6);
+
+        assertEquals(expected, window);
+        assertThrows(IllegalArgumentException.class, () -> model.forecast(Integer.MAX_VALUE, 2));
+    }
+
+    @Test
+    void forecast_WhileInitialising_ShouldFail() {
+        HoltWintersModel model = new HoltWintersModel(HoltWintersModel.Parameters.DEFAULT, 5);
+        model.observe(10);
+
+        assertFalse(model.isReady());
+        assertThrows(IllegalStateException.class, () -> model.forecast(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new HoltWintersModel.Parameters(0.1, 0.1, 1.5, 0.1, 0.98));
+    }
+
+    // Weekday rush hours at 08:30 (slot 17) and 17:30, quieter weekends.
+    private static double traffic(int slot) {
+        int slotOfDay = slot % SLOTS_PER_DAY;
+        boolean weekend = slot % SLOTS_PER_WEEK >= 5 * SLOTS_PER_DAY;
+        double rush = 30 * Math.exp(-Math.pow(slotOfDay - 17, 2) / 4) + 25 * Math.exp(-Math.pow(slotOfDay - 35, 2) / 4);
+        return 10 + (weekend ? rush / 3 : rush);
+    }
+}
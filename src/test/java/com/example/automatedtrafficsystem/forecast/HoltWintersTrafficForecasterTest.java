@@ -0,0 +1,120 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_WEEK;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoltWintersTrafficForecasterTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final HoltWintersTrafficForecaster forecaster =
+            new HoltWintersTrafficForecaster(HoltWintersModel.Parameters.DEFAULT, 1.96);
+
+    @Test
+    void forecast_AfterTwoWeeks_ShouldPredictWithInterval() {
+        forecaster.onTrafficDataIngested(TrafficDataIngestedEvent.replay(weeks(MONDAY, 2)));
+
+        HoltWintersForecast forecast = forecaster.forecast(MONDAY.plusWeeks(2).withHour(8),
+                MONDAY.plusWeeks(2).withHour(9)).orElseThrow();
+
+        assertEquals(2, forecast.slots());
+        // The last slot stays open until a later sample arrives.
+        assertEquals(2 * SLOTS_PER_WEEK - 1, forecast.observations());
+        assertEquals(90.0, forecast.expectedVolume(), 3.0);
+        assertTrue(forecast.lowerBound() < forecast.expectedVolume());
+        assertTrue(forecast.upperBound() > forecast.expectedVolume());
+        assertEquals(SeasonalTrafficModel.slotOf(MONDAY.withHour(8)), forecast.peakSlot());
+        assertTrue(forecast.confidence() > 0.5 && forecast.confidence() < 1);
+    }
+
+    @Test
+    void forecast_BeforeAWeekOfHistory_ShouldBeEmpty() {
+        forecaster.record(weeks(MONDAY, 1).subList(0, 100));
+
+        assertTrue(forecaster.forecast(MONDAY.plusDays(3), MONDAY.plusDays(3).plusHours(1)).isEmpty());
+    }
+
+    @Test
+    void forecast_BeyondMaxHorizon_ShouldBeEmpty() {
+        forecaster.record(weeks(MONDAY, 2));
+        LocalDateTime lastSlot = MONDAY.plusWeeks(2).minusMinutes(30)
+                .plusMinutes(30L * (HoltWintersTrafficForecaster.MAX_HORIZON_SLOTS - 1));
+
+        assertTrue(forecaster.forecast(lastSlot, lastSlot.plusMinutes(30)).isPresent());
+        assertTrue(forecaster.forecast(lastSlot.plusMinutes(30), lastSlot.plusHours(1)).isEmpty());
+        assertTrue(forecaster.forecast(LocalDateTime.of(9999, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 1, 0))
+                .isEmpty());
+    }
+
+    @Test
+    void snapshot_ForWindow_ShouldAnswerItsIntervalsUpToMaxHorizon() {
+        forecaster.record(weeks(MONDAY, 2));
+        LocalDateTime start = MONDAY.plusWeeks(2).withHour(8);
+
+        HoltWintersSnapshot snapshot = forecaster.snapshot(start, start.plusYears(1)).orElseThrow();
+
+        assertEquals(HoltWintersTrafficForecaster.MAX_HORIZON_SLOTS, snapshot.horizon().steps());
+        assertEquals(forecaster.forecast(start, start.plusHours(1)), snapshot.forecast(start, start.plusHours(1)));
+        assertTrue(snapshot.forecast(start.plusDays(60), start.plusDays(60).plusHours(1)).isEmpty());
+        assertTrue(forecaster.snapshot(MONDAY, MONDAY.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void record_WithLateSamples_ShouldAddThemToTheirSlotAndRefit() {
+        List<TrafficSample> history = new ArrayList<>(weeks(MONDAY, 2));
+        List<TrafficSample> backfill = history.stream()
+                .filter(sample -> sample.timestamp().isBefore(MONDAY.plusDays(1)))
+                .toList();
+        history.removeAll(backfill);
+        HoltWintersTrafficForecaster inOrder = new HoltWintersTrafficForecaster(HoltWintersModel.Parameters.DEFAULT, 1.96);
+        inOrder.record(weeks(MONDAY, 2));
+
+        forecaster.record(history);
+        forecaster.record(backfill);
+
+        assertEquals(1, forecaster.refits());
+        LocalDateTime start = MONDAY.plusWeeks(2).withHour(8);
+        HoltWintersForecast expected = inOrder.forecast(start, start.plusHours(1)).orElseThrow();
+        HoltWintersForecast forecast = forecaster.forecast(start, start.plusHours(1)).orElseThrow();
+        assertEquals(expected.observations(), forecast.observations());
+        assertEquals(expected.expectedVolume(), forecast.expectedVolume(), 1e-9);
+    }
+
+    @Test
+    void record_WithFarFutureSample_ShouldIgnoreIt() {
+        HoltWintersTrafficForecaster clocked = new HoltWintersTrafficForecaster(HoltWintersModel.Parameters.DEFAULT,
+                1.96, Clock.fixed(MONDAY.plusWeeks(2).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        clocked.record(weeks(MONDAY, 2));
+        clocked.record(List.of(new TrafficSample(MONDAY.plusYears(100), 500)));
+
+        assertEquals(1, clocked.futureSamples());
+        HoltWintersForecast forecast = clocked.forecast(MONDAY.plusWeeks(2).withHour(8),
+                MONDAY.plusWeeks(2).withHour(8).withMinute(30)).orElseThrow();
+        assertEquals(50.0, forecast.expectedVolume(), 2.0);
+    }
+
+    // About 50 cars at 08:00, 40 at 08:30 and 10 otherwise, give or take one; each 30-minute slot arrives
+    // as two 15-minute samples.
+    private static List<TrafficSample> weeks(LocalDateTime start, int weeks) {
+        Random random = new Random(3);
+        List<TrafficSample> samples = new ArrayList<>();
+        for (int slot = 0; slot < weeks * SLOTS_PER_WEEK; slot++) {
+            LocalDateTime slotStart = start.plusMinutes(30L * slot);
+            int cars = (slotStart.getHour() == 8 ? (slotStart.getMinute() == 0 ? 50 : 40) : 10) + random.nextInt(3) - 1;
+            samples.add(new TrafficSample(slotStart, cars / 2));
+            samples.add(new TrafficSample(slotStart.plusMinutes(15), cars - cars / 2));
+        }
+        return samples;
+    }
+}
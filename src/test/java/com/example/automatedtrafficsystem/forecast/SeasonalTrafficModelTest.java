@@ -0,0 +1,101 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataCompactedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeasonalTrafficModelTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final SeasonalTrafficModel model = new SeasonalTrafficModel();
+
+    @Test
+    void slotOf_ShouldMapHourOfWeekToHalfHourSlots() {
+        assertEquals(0, SeasonalTrafficModel.slotOf(MONDAY));
+        assertEquals(17, SeasonalTrafficModel.slotOf(MONDAY.withHour(8).withMinute(45)));
+        assertEquals(SeasonalTrafficModel.SLOTS_PER_WEEK - 1, SeasonalTrafficModel.slotOf(MONDAY.plusDays(6).withHour(23).withMinute(59)));
+        assertEquals("MONDAY 08:30", SeasonalTrafficModel.slotLabel(17));
+    }
+
+    @Test
+    void forecast_ShouldAverageEachSlotAcrossWeeks() {
+        model.onTrafficDataIngested(TrafficDataIngestedEvent.replay(List.of(
+                new TrafficSample(MONDAY.withHour(8), 10),
+                new TrafficSample(MONDAY.plusWeeks(1).withHour(8), 30),
+                new TrafficSample(MONDAY.withHour(8).withMinute(30), 50))));
+
+        SlotForecast forecast = model.forecast(MONDAY.plusWeeks(4).withHour(8), MONDAY.plusWeeks(4).withHour(9));
+
+        assertEquals(2, forecast.slots());
+        assertEquals(2, forecast.coveredSlots());
+        assertEquals(3, forecast.observations());
+        assertEquals(70.0, forecast.expectedVolume(), 1e-9);
+        assertEquals(35.0, forecast.meanPerSlot(), 1e-9);
+        assertEquals(17, forecast.peakSlot());
+        assertTrue(forecast.confidence() > 0 && forecast.confidence() < 1);
+    }
+
+    @Test
+    void onTrafficDataCompacted_ShouldTakeSamplesBackOut() {
+        TrafficSample compacted = new TrafficSample(MONDAY.withHour(8), 90);
+        model.record(List.of(
+                compacted,
+                new TrafficSample(MONDAY.plusWeeks(1).withHour(8), 10),
+                new TrafficSample(MONDAY.plusWeeks(2).withHour(8), 30)));
+
+        model.onTrafficDataCompacted(new TrafficDataCompactedEvent(List.of(compacted)));
+
+        SeasonalTrafficModel expected = new SeasonalTrafficModel();
+        expected.record(List.of(
+                new TrafficSample(MONDAY.plusWeeks(1).withHour(8), 10),
+                new TrafficSample(MONDAY.plusWeeks(2).withHour(8), 30)));
+        SlotForecast forecast = model.forecast(MONDAY.withHour(8), MONDAY.withHour(8).withMinute(30));
+        SlotForecast reference = expected.forecast(MONDAY.withHour(8), MONDAY.withHour(8).withMinute(30));
+        assertEquals(2, forecast.observations());
+        assertEquals(20.0, forecast.meanPerSlot(), 1e-9);
+        assertEquals(reference.meanPerSlot(), forecast.meanPerSlot(), 1e-9);
+        assertEquals(reference.confidence(), forecast.confidence(), 1e-9);
+    }
+
+    @Test
+    void forecast_WithPartialHistory_ShouldLowerConfidence() {
+        for (int week = 0; week < 10; week++) {
+            model.record(List.of(
+                    new TrafficSample(MONDAY.plusWeeks(week).withHour(8), 20),
+                    new TrafficSample(MONDAY.plusWeeks(week).withHour(8).withMinute(30), 20)));
+        }
+
+        SlotForecast covered = model.forecast(MONDAY.withHour(8), MONDAY.withHour(9));
+        SlotForecast half = model.forecast(MONDAY.withHour(8).withMinute(30), MONDAY.withHour(9).withMinute(30));
+
+        assertEquals(1, half.coveredSlots());
+        assertEquals(20.0, half.meanPerSlot(), 1e-9);
+        assertEquals(covered.confidence() / 2, half.confidence(), 0.01);
+    }
+
+    @Test
+    void forecast_OverSeveralWeeks_ShouldWeightSlotsByOccurrences() {
+        model.record(List.of(new TrafficSample(MONDAY.withHour(8), 12)));
+
+        SlotForecast forecast = model.forecast(MONDAY, MONDAY.plusWeeks(3));
+
+        assertEquals(3L * SeasonalTrafficModel.SLOTS_PER_WEEK, forecast.slots());
+        assertEquals(3, forecast.coveredSlots());
+        assertEquals(36.0, forecast.expectedVolume(), 1e-9);
+    }
+
+    @Test
+    void forecast_WithoutHistory_ShouldReportNoData() {
+        SlotForecast forecast = model.forecast(MONDAY, MONDAY.plusHours(1));
+
+        assertFalse(forecast.hasData());
+        assertEquals(0.0, forecast.confidence());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.automatedtrafficsystem.forecast;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.automatedtrafficsystem.forecast.SeasonalTrafficModel.SLOTS_PER_WEEK;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficForecastStoreTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final HoltWintersTrafficForecaster forecaster =
+            new HoltWintersTrafficForecaster(HoltWintersModel.Parameters.DEFAULT, 1.96);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TrafficForecastStore store = new TrafficForecastStore(forecaster, meterRegistry, 2);
+
+    @Test
+    void forecast_AfterRefresh_ShouldMatchOnDemandForecastWithinHorizon() {
+        forecaster.record(weeks(2));
+        store.refreshIfStale();
+
+        LocalDateTime tomorrow = MONDAY.plusWeeks(2).plusDays(1);
+        assertEquals(forecaster.forecast(tomorrow.withHour(7), tomorrow.withHour(10)),
+                store.forecast(tomorrow.withHour(7), tomorrow.withHour(10)));
+        assertTrue(store.forecast(MONDAY.plusWeeks(2).plusDays(3), MONDAY.plusWeeks(2).plusDays(3).plusHours(1))
+                .isEmpty());
+        assertTrue(store.forecast(MONDAY.plusDays(1), MONDAY.plusDays(1).plusHours(1)).isEmpty());
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(2.0, lookups("miss"));
+    }
+
+    @Test
+    void refreshIfStale_ShouldOnlyRefreshAfterAnIngest() {
+        store.refreshIfStale();
+        forecaster.record(weeks(2));
+        LocalDateTime window = MONDAY.plusWeeks(2).withHour(8);
+
+        store.refreshIfStale();
+        assertTrue(store.forecast(window, window.plusHours(1)).isEmpty());
+
+        store.onTrafficDataIngested(new TrafficDataIngestedEvent(List.of(), false));
+        store.refreshIfStale();
+        assertTrue(store.forecast(window, window.plusHours(1)).isPresent());
+        assertEquals(2, meterRegistry.get("traffic.forecast.store.refresh").timer().count());
+    }
+
+    @Test
+    void constructor_WithHorizonOutOfRange_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new TrafficForecastStore(forecaster, meterRegistry, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrafficForecastStore(forecaster, meterRegistry, TrafficForecastStore.MAX_DAYS + 1));
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("traffic.forecast.store.lookups").tag("result", result).counter().count();
+    }
+
+    // 40 cars at 08:00 and 08:30 and about 5 otherwise, one sample per slot.
+    private static List<TrafficSample> weeks(int weeks) {
+        List<TrafficSample> samples = new ArrayList<>();
+        for (int slot = 0; slot < weeks * SLOTS_PER_WEEK; slot++) {
+            LocalDateTime timestamp = MONDAY.plusMinutes(30L * slot);
+            samples.add(new TrafficSample(timestamp, (timestamp.getHour() == 8 ? 40 : 5) + slot % 3));
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.automatedtrafficsystem.service;
+
+import com.example.automatedtrafficsystem.config.RequestStatementCounter;
+import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.repository.TrafficHourlyRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedTrafficAggregatorTest {
+
+    @Mock
+    private TrafficDataRepository trafficDataRepository;
+
+    @Mock
+    private TrafficHourlyRollupRepository trafficHourlyRollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PartitionedTrafficAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new PartitionedTrafficAggregator(
+                trafficDataRepository, trafficHourlyRollupRepository, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.shutdown();
+    }
+
+    @Test
+    void monthlyPartitions_ShouldAlignToCalendarMonths() {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 15, 6, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 3, 10, 0, 0);
+
+        List<PartitionedTrafficAggregator.TimePartition> partitions =
+                PartitionedTrafficAggregator.monthlyPartitions(start, end);
+
+        assertEquals(3, partitions.size());
+        assertEquals(start, partitions.get(0).start());
+        assertEquals(LocalDateTime.of(2023, 2, 1, 0, 0), partitions.get(0).end());
+        assertEquals(LocalDateTime.of(2023, 3, 1, 0, 0), partitions.get(2).start());
+        assertEquals(end, partitions.get(2).end());
+    }
+
+    @Test
+    void monthlyPartitions_WithEmptyRange_ShouldReturnNoPartitions() {
+        LocalDateTime instant = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+        assertTrue(PartitionedTrafficAggregator.monthlyPartitions(instant, instant).isEmpty());
+    }
+
+    @Test
+    void aggregate_ShouldCountPartitionStatementsAgainstTheCallingRequest() {
+        RequestStatementCounter counter = new RequestStatementCounter();
+        when(trafficDataRepository.aggregateByHour(any(), any())).thenAnswer(invocation -> {
+            counter.inspect("select ...");
+            return List.of();
+        });
+        LongAdder statements = new LongAdder();
+        RequestStatementCounter.bind(statements);
+        try {
+            aggregator.aggregate(LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 4, 1, 0, 0));
+        } finally {
+            RequestStatementCounter.bind(null);
+        }
+
+        assertEquals(3, statements.sum());
+    }
+
+    @Test
+    void aggregate_ShouldMergePartitionResults() {
+        when(trafficDataRepository.aggregateByHour(any(), any())).thenReturn(List.of(
+                new HourlyRow(8, 2, 50, 20, 30),
+                new HourlyRow(17, 1, 5, 5, 5)
+        ));
+
+        TrafficAggregate aggregate = aggregator.aggregate(
+                LocalDateTime.of(2023, 1, 1, 0, 0),
+                LocalDateTime.of(2023, 7, 1, 0, 0));
+
+        verify(trafficDataRepository, times(6)).aggregateByHour(any(), any());
+        verify(transactionManager, times(6)).getTransaction(any());
+        assertEquals(18, aggregate.getRecordCount());
+        assertEquals(330, aggregate.getTotalCars());
+        assertEquals(5, aggregate.getMinCars());
+        assertEquals(30, aggregate.getMaxCars());
+        assertEquals(25.0, aggregate.getHourlyAverage(8), 0.0001);
+        assertEquals(8, aggregate.getPeakHour().orElseThrow());
+    }
+
+    @Test
+    void aggregate_ShouldAddCompactedHoursFromRollups() {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 2, 1, 0, 0);
+        when(trafficDataRepository.aggregateByHour(start, end)).thenReturn(List.of(new HourlyRow(8, 2, 50, 20, 30)));
+        when(trafficHourlyRollupRepository.aggregateByHour(start, end)).thenReturn(List.of(
+                new HourlyRow(8, 2, 70, 30, 40),
+                new HourlyRow(9, 2, 10, 4, 6)
+        ));
+
+        TrafficAggregate aggregate = aggregator.aggregate(start, end);
+
+        assertEquals(6, aggregate.getRecordCount());
+        assertEquals(130, aggregate.getTotalCars());
+        assertEquals(120, aggregate.getHourlyTotal(8));
+        assertEquals(4, aggregate.getMinCars());
+        assertEquals(40, aggregate.getMaxCars());
+    }
+
+    @Test
+    void aggregate_WhenPartitionFails_ShouldPropagateCause() {
+        when(trafficDataRepository.aggregateByHour(any(), any())).thenThrow(new IllegalStateException("boom"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> aggregator.aggregate(
+                LocalDateTime.of(2023, 1, 1, 0, 0),
+                LocalDateTime.of(2023, 3, 1, 0, 0)));
+
+        assertEquals("boom", ex.getMessage());
+    }
+
+    @Test
+    void aggregate_WhenPartitionFails_ShouldInterruptRunningPartitions() throws InterruptedException {
+        LocalDateTime january = LocalDateTime.of(2023, 1, 1, 0, 0);
+        CountDownLatch februaryStarted = new CountDownLatch(1);
+        CountDownLatch februaryInterrupted = new CountDownLatch(1);
+        when(trafficDataRepository.aggregateByHour(any(), any())).thenAnswer(invocation -> {
+            if (january.equals(invocation.getArgument(0))) {
+                februaryStarted.await();
+                throw new IllegalStateException("boom");
+            }
+            februaryStarted.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException ex) {
+                februaryInterrupted.countDown();
+            }
+            return List.of();
+        });
+
+        assertThrows(IllegalStateException.class, () -> aggregator.aggregate(january, LocalDateTime.of(2023, 3, 1, 0, 0)));
+
+        assertTrue(februaryInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private record HourlyRow(int hour, long records, long totalCars, int minCars, int maxCars)
+            implements TrafficDataRepository.HourlyAggregateView {
+
+        @Override
+        public int getHour() {
+            return hour;
+        }
+
+        @Override
+        public long getRecords() {
+            return records;
+        }
+
+        @Override
+        public long getTotalCars() {
+            return totalCars;
+        }
+
+        @Override
+        public int getMinCars() {
+            return minCars;
+        }
+
+        @Override
+        public int getMaxCars() {
+            return maxCars;
+        }
+    }
+}
@@ -1,23 +1,31 @@
 package com.example.automatedtrafficsystem.service;
 
 import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficDataView;
 import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.repository.TrafficHourlyRollupRepository;
+import com.example.automatedtrafficsystem.util.PaginationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,24 +34,36 @@ class TrafficDataServiceTest {
     @Mock
     private TrafficDataRepository trafficDataRepository;
 
-    @InjectMocks
+    @Mock
+    private TrafficHourlyRollupRepository trafficHourlyRollupRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PartitionedTrafficAggregator partitionedTrafficAggregator;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
     private TrafficDataService trafficDataService;
 
-    private TrafficData data1;
-    private TrafficData data2;
-    private TrafficData data3;
+    private TrafficDataView data1;
+    private TrafficDataView data2;
+    private TrafficDataView data3;
 
     @BeforeEach
     void setUp() {
+        trafficDataService = new TrafficDataService(trafficDataRepository, trafficHourlyRollupRepository,
+                eventPublisher, partitionedTrafficAggregator, Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
         LocalDateTime now = LocalDateTime.now();
-        data1 = new TrafficData(1L, now.minusHours(1), 10, now);
-        data2 = new TrafficData(2L, now.minusHours(2), 20, now.minusHours(1));
-        data3 = new TrafficData(3L, now.minusHours(3), 15, now.minusHours(2));
+        data1 = new TrafficDataView(1L, now.minusHours(1), 10, now);
+        data2 = new TrafficDataView(2L, now.minusHours(2), 20, now.minusHours(1));
+        data3 = new TrafficDataView(3L, now.minusHours(3), 15, now.minusHours(2));
     }
 
     @Test
     void saveTrafficData_ShouldSaveAndReturnTrafficData() {
-        LocalDateTime timestamp = LocalDateTime.now();
+        LocalDateTime timestamp = NOW;
         TrafficData trafficData = new TrafficData(timestamp, 10);
 
         when(trafficDataRepository.existsByTimestamp(timestamp)).thenReturn(false);
@@ -60,7 +80,7 @@ class TrafficDataServiceTest {
 
     @Test
     void saveTrafficData_WithExistingTimestamp_ShouldThrow() {
-        LocalDateTime timestamp = LocalDateTime.now();
+        LocalDateTime timestamp = NOW;
         when(trafficDataRepository.existsByTimestamp(timestamp)).thenReturn(true);
 
         IllegalArgumentException ex = assertThrows(
@@ -70,6 +90,45 @@ class TrafficDataServiceTest {
 
         assertTrue(ex.getMessage().contains("already exists"));
         verify(trafficDataRepository, never()).save(any(TrafficData.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveTrafficData_WhenHourWasCompacted_ShouldThrow() {
+        LocalDateTime timestamp = LocalDateTime.of(2022, 1, 1, 8, 30);
+        when(trafficDataRepository.existsByTimestamp(timestamp)).thenReturn(false);
+        when(trafficHourlyRollupRepository.existsByHourStart(LocalDateTime.of(2022, 1, 1, 8, 0))).thenReturn(true);
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> trafficDataService.saveTrafficData(timestamp, 10)
+        );
+
+        assertTrue(ex.getMessage().contains("already been compacted"));
+        verify(trafficDataRepository, never()).save(any(TrafficData.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveTrafficData_WithinFutureSkew_ShouldSave() {
+        LocalDateTime timestamp = NOW.plus(TrafficDataService.MAX_FUTURE_SKEW);
+        when(trafficDataRepository.existsByTimestamp(timestamp)).thenReturn(false);
+        when(trafficDataRepository.save(any(TrafficData.class))).thenReturn(new TrafficData(timestamp, 10));
+
+        assertEquals(timestamp, trafficDataService.saveTrafficData(timestamp, 10).getTimestamp());
+    }
+
+    @Test
+    void saveTrafficData_WithFarFutureTimestamp_ShouldThrow() {
+        LocalDateTime timestamp = NOW.plus(TrafficDataService.MAX_FUTURE_SKEW).plusMinutes(30);
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> trafficDataService.saveTrafficData(timestamp, 10)
+        );
+
+        assertTrue(ex.getMessage().contains("too far in the future"));
+        verifyNoInteractions(trafficDataRepository, eventPublisher);
     }
 
     @Test
@@ -82,6 +141,25 @@ class TrafficDataServiceTest {
         verify(trafficDataRepository).getTotalCars();
     }
 
+    @Test
+    void getTotalCars_WithDateRange_ShouldQueryHalfOpenInterval() {
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        LocalDate to = LocalDate.of(2023, 1, 31);
+        when(trafficDataRepository.getTotalCarsBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+                .thenReturn(12L);
+
+        assertEquals(12L, trafficDataService.getTotalCars(from, to));
+        verify(trafficDataRepository, never()).getTotalCars();
+    }
+
+    @Test
+    void getTotalCars_WithoutDateRange_ShouldUseUnboundedQuery() {
+        when(trafficDataRepository.getTotalCars()).thenReturn(45L);
+
+        assertEquals(45L, trafficDataService.getTotalCars(null, null));
+        verify(trafficDataRepository, never()).getTotalCarsBetween(any(), any());
+    }
+
     @Test
     void getDailyCarCounts_ShouldMapRepositoryProjection() {
         LocalDate today = LocalDate.now();
@@ -98,26 +176,146 @@ class TrafficDataServiceTest {
         assertEquals(15L, dailyCounts.get(yesterday));
     }
 
+    @Test
+    void getDailyCarCounts_ShouldMergeCompactedRollups() {
+        LocalDate cutoffDay = LocalDate.of(2023, 1, 2);
+        when(trafficDataRepository.findDailyTrafficTotals())
+                .thenReturn(List.of(new DailyTotalView(cutoffDay.toString(), 10L)));
+        when(trafficHourlyRollupRepository.findDailyTrafficTotalsBetween(any(), any()))
+                .thenReturn(List.of(
+                        new DailyTotalView("2023-01-01", 40L),
+                        new DailyTotalView(cutoffDay.toString(), 5L)));
+        when(trafficDataRepository.getTotalCars()).thenReturn(10L);
+        when(trafficHourlyRollupRepository.getTotalCars()).thenReturn(45L);
+
+        Map<LocalDate, Long> dailyCounts = trafficDataService.getDailyCarCounts();
+
+        assertEquals(40L, dailyCounts.get(LocalDate.of(2023, 1, 1)));
+        assertEquals(15L, dailyCounts.get(cutoffDay));
+        assertEquals(55L, trafficDataService.getTotalCars());
+    }
+
     @Test
     void getTopThreeHalfHours_ShouldReturnTopThreeRecords() {
-        when(trafficDataRepository.findTop3ByOrderByCarCountDesc())
+        when(trafficDataRepository.findViewsOrderByCarCountDesc(any(Pageable.class)))
                 .thenReturn(Arrays.asList(data2, data3, data1));
 
-        List<TrafficData> topThree = trafficDataService.getTopThreeHalfHours();
+        List<TrafficDataView> topThree = trafficDataService.getTopThreeHalfHours();
 
         assertEquals(3, topThree.size());
         assertEquals(20, topThree.get(0).getCarCount());
-        verify(trafficDataRepository).findTop3ByOrderByCarCountDesc();
+        ArgumentCaptor<Pageable> limit = ArgumentCaptor.forClass(Pageable.class);
+        verify(trafficDataRepository).findViewsOrderByCarCountDesc(limit.capture());
+        assertEquals(3, limit.getValue().getPageSize());
+    }
+
+    @Test
+    void getTopThreeHalfHours_WithOnlyFromDate_ShouldLeaveUpperBoundOpen() {
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        when(trafficDataRepository.findViewsBetweenOrderByCarCountDesc(
+                eq(from.atStartOfDay()), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(data2));
+
+        List<TrafficDataView> topThree = trafficDataService.getTopThreeHalfHours(from, null);
+
+        assertEquals(1, topThree.size());
+        verify(trafficDataRepository, never()).findViewsOrderByCarCountDesc(any());
+    }
+
+    @Test
+    void getTrafficDataAfter_ShouldSeekPastCursorAndFetchOneExtraRow() {
+        PaginationUtil.Cursor cursor = new PaginationUtil.Cursor(data2.getTimestamp(), 2L);
+        when(trafficDataRepository.findPageAfter(eq(data2.getTimestamp()), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(data1));
+
+        List<TrafficDataView> rows = trafficDataService.getTrafficDataAfter(cursor, 5, true);
+
+        assertEquals(List.of(data1), rows);
+        ArgumentCaptor<Pageable> limit = ArgumentCaptor.forClass(Pageable.class);
+        verify(trafficDataRepository).findPageAfter(eq(data2.getTimestamp()), eq(2L), limit.capture());
+        assertEquals(6, limit.getValue().getPageSize());
+        verify(trafficDataRepository, never()).count();
+    }
+
+    @Test
+    void getTrafficDataAfter_WithoutCursorDescending_ShouldStartFromNewest() {
+        when(trafficDataRepository.findPageBefore(any(LocalDateTime.class), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(data1, data2));
+
+        assertEquals(2, trafficDataService.getTrafficDataAfter(null, 10, false).size());
+    }
+
+    @Test
+    void getTrafficStatistics_ShouldAggregateAcrossStoredRange() {
+        LocalDateTime earliest = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime latest = LocalDateTime.of(2023, 6, 30, 23, 30);
+        TrafficAggregate aggregate = TrafficAggregate.empty();
+        aggregate.addHour(8, 10, 400, 20, 60);
+        aggregate.addHour(17, 10, 300, 10, 50);
+
+        when(trafficDataRepository.findEarliestTimestamp()).thenReturn(Optional.of(earliest));
+        when(trafficDataRepository.findLatestTimestamp()).thenReturn(Optional.of(latest));
+        when(partitionedTrafficAggregator.aggregate(earliest, latest.plusDays(1))).thenReturn(aggregate);
+
+        Map<String, Object> stats = trafficDataService.getTrafficStatistics();
+
+        assertEquals(700L, stats.get("totalCars"));
+        assertEquals(20L, stats.get("totalRecords"));
+        assertEquals("08:00 - 08:59", stats.get("peakHour"));
+        assertEquals(400L, stats.get("carsInPeakHour"));
+    }
+
+    @Test
+    void getTrafficStatistics_WithCompactedHours_ShouldAggregateFromFirstRollup() {
+        LocalDateTime firstRollup = LocalDateTime.of(2022, 1, 1, 0, 0);
+        LocalDateTime latest = LocalDateTime.of(2023, 6, 30, 23, 30);
+        TrafficAggregate aggregate = TrafficAggregate.empty();
+        aggregate.addHour(8, 12, 500, 20, 60);
+
+        when(trafficDataRepository.findEarliestTimestamp())
+                .thenReturn(Optional.of(LocalDateTime.of(2023, 1, 1, 0, 0)));
+        when(trafficHourlyRollupRepository.findEarliestHourStart()).thenReturn(Optional.of(firstRollup));
+        when(trafficDataRepository.findLatestTimestamp()).thenReturn(Optional.of(latest));
+        when(trafficHourlyRollupRepository.findLatestHourStart())
+                .thenReturn(Optional.of(LocalDateTime.of(2022, 12, 31, 23, 0)));
+        when(partitionedTrafficAggregator.aggregate(firstRollup, latest.plusDays(1))).thenReturn(aggregate);
+
+        Map<String, Object> stats = trafficDataService.getTrafficStatistics();
+
+        assertEquals(500L, stats.get("totalCars"));
+        assertEquals(12L, stats.get("totalRecords"));
+        assertEquals(500L, stats.get("carsInPeakHour"));
+    }
+
+    @Test
+    void getTrafficStatistics_WithNoData_ShouldOmitPeakHour() {
+        when(trafficDataRepository.findEarliestTimestamp()).thenReturn(Optional.empty());
+
+        Map<String, Object> stats = trafficDataService.getTrafficStatistics();
+
+        assertEquals(0L, stats.get("totalRecords"));
+        assertFalse(stats.containsKey("peakHour"));
+        verifyNoInteractions(partitionedTrafficAggregator);
     }
 
     @Test
     void findLeastCarsContiguousPeriod_WithLessThanThreeRecords_ShouldReturnAll() {
-        when(trafficDataRepository.findAllByOrderByTimestampAsc()).thenReturn(Arrays.asList(data1, data2));
+        when(trafficDataRepository.findAllViewsOrderByTimestamp()).thenReturn(Arrays.asList(data1, data2));
 
-        List<TrafficData> result = trafficDataService.findLeastCarsContiguousPeriod();
+        List<TrafficDataView> result = trafficDataService.findLeastCarsContiguousPeriod();
 
         assertEquals(2, result.size());
-        verify(trafficDataRepository).findAllByOrderByTimestampAsc();
+        verify(trafficDataRepository).findAllViewsOrderByTimestamp();
+    }
+
+    @Test
+    void findLeastCarsContiguousPeriod_WithInvertedRange_ShouldThrow() {
+        LocalDate from = LocalDate.of(2023, 2, 1);
+        LocalDate to = LocalDate.of(2023, 1, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> trafficDataService.findLeastCarsContiguousPeriod(from, to));
+        verifyNoInteractions(trafficDataRepository);
     }
 
     @Test
@@ -131,6 +329,11 @@ class TrafficDataServiceTest {
         ArgumentCaptor<List<TrafficData>> captor = ArgumentCaptor.forClass(List.class);
         verify(trafficDataRepository).saveAll(captor.capture());
         assertEquals(2, captor.getValue().size());
+
+        ArgumentCaptor<TrafficDataIngestedEvent> eventCaptor = ArgumentCaptor.forClass(TrafficDataIngestedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(2, eventCaptor.getValue().samples().size());
+        assertFalse(eventCaptor.getValue().replay());
     }
 
     @Test
@@ -147,6 +350,20 @@ class TrafficDataServiceTest {
         verify(trafficDataRepository, never()).saveAll(any());
     }
 
+    @Test
+    void processTrafficDataFile_WithFarFutureTimestamp_ShouldThrow() {
+        String fileContent = "2023-01-01T12:00:00 10\n3023-01-01T12:30:00 20";
+        when(trafficDataRepository.existsByTimestamp(any(LocalDateTime.class))).thenReturn(false);
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> trafficDataService.processTrafficDataFile(fileContent)
+        );
+
+        assertTrue(ex.getMessage().contains("line 2"));
+        verify(trafficDataRepository, never()).saveAll(any());
+    }
+
     private record DailyTotalView(String trafficDate, long totalCars) implements TrafficDataRepository.DailyTrafficTotalView {
         @Override
         public String getTrafficDate() {
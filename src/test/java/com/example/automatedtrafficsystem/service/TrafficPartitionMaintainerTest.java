@@ -0,0 +1,36 @@
+package com.example.automatedtrafficsystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TrafficPartitionMaintainerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-17T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void ensureFuturePartitions_ShouldCoverCurrentMonthThroughHorizon() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any())).thenReturn(2);
+
+        new TrafficPartitionMaintainer(jdbcTemplate, clock, 3).ensureFuturePartitions();
+
+        verify(jdbcTemplate).queryForObject(
+                "SELECT ensure_traffic_data_partitions(?, ?)", Integer.class,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 1));
+    }
+
+    @Test
+    void constructor_WithNonPositiveHorizon_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TrafficPartitionMaintainer(jdbcTemplate, clock, 0));
+    }
+}
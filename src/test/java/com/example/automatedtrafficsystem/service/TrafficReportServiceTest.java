@@ -1,6 +1,6 @@
 package com.example.automatedtrafficsystem.service;
 
-import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficDataView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,11 +28,8 @@ class TrafficReportServiceTest {
     private final LocalDateTime now = LocalDateTime.now();
     private final LocalDate today = LocalDate.now();
 
-    private TrafficData createTrafficData(LocalDateTime timestamp, int carCount) {
-        TrafficData data = new TrafficData();
-        data.setTimestamp(timestamp);
-        data.setCarCount(carCount);
-        return data;
+    private TrafficDataView createTrafficData(LocalDateTime timestamp, int carCount) {
+        return new TrafficDataView(null, timestamp, carCount, null);
     }
 
     @BeforeEach
@@ -43,9 +40,9 @@ class TrafficReportServiceTest {
     @Test
     void generateReport_ReturnsFormattedReport() {
         LocalDateTime baseTime = LocalDateTime.of(today, LocalTime.of(12, 0));
-        TrafficData data1 = createTrafficData(baseTime, 10);
-        TrafficData data2 = createTrafficData(baseTime.plusMinutes(30), 15);
-        TrafficData data3 = createTrafficData(baseTime.plusHours(1), 20);
+        TrafficDataView data1 = createTrafficData(baseTime, 10);
+        TrafficDataView data2 = createTrafficData(baseTime.plusMinutes(30), 15);
+        TrafficDataView data3 = createTrafficData(baseTime.plusHours(1), 20);
 
         long totalCars = data1.getCarCount() + data2.getCarCount() + data3.getCarCount();
         when(trafficDataService.getTotalCars()).thenReturn(totalCars);
@@ -88,13 +85,13 @@ class TrafficReportServiceTest {
 
     @Test
     void getReportAsJson_ReturnsValidJsonStructure() {
-        TrafficData data1 = createTrafficData(now, 10);
-        TrafficData data2 = createTrafficData(now.plusMinutes(30), 15);
+        TrafficDataView data1 = createTrafficData(now, 10);
+        TrafficDataView data2 = createTrafficData(now.plusMinutes(30), 15);
         
         long totalCars = 25L;
         Map<LocalDate, Long> dailyCounts = Collections.singletonMap(today, totalCars);
-        List<TrafficData> topThree = Arrays.asList(data2, data1);
-        List<TrafficData> leastCarsPeriod = Arrays.asList(data1, data2);
+        List<TrafficDataView> topThree = Arrays.asList(data2, data1);
+        List<TrafficDataView> leastCarsPeriod = Arrays.asList(data1, data2);
 
         when(trafficDataService.getTotalCars()).thenReturn(totalCars);
         when(trafficDataService.getDailyCarCounts()).thenReturn(dailyCounts);
@@ -0,0 +1,120 @@
+package com.example.automatedtrafficsystem.service;
+
+import com.example.automatedtrafficsystem.model.TrafficData;
+import com.example.automatedtrafficsystem.model.TrafficHourlyRollup;
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.repository.TrafficDataRepository;
+import com.example.automatedtrafficsystem.repository.TrafficHourlyRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrafficRetentionJobTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2023, 1, 1, 10, 0);
+
+    @Mock
+    private TrafficDataRepository trafficDataRepository;
+
+    @Mock
+    private TrafficHourlyRollupRepository trafficHourlyRollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TrafficDataVersion trafficDataVersion = new TrafficDataVersion();
+    private SimpleMeterRegistry meterRegistry;
+    private TrafficRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T10:45:00Z"), ZoneOffset.UTC);
+        job = new TrafficRetentionJob(trafficDataRepository, trafficHourlyRollupRepository, transactionManager,
+                trafficDataVersion, eventPublisher, meterRegistry, clock, Duration.ofDays(365), 2, Duration.ZERO, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compactExpiredData_ShouldRollUpHoursAndDeleteInBatches() {
+        TrafficData first = new TrafficData(1L, LocalDateTime.of(2022, 12, 31, 8, 0), 10, CUTOFF);
+        TrafficData second = new TrafficData(2L, LocalDateTime.of(2022, 12, 31, 8, 30), 4, CUTOFF);
+        TrafficData third = new TrafficData(3L, LocalDateTime.of(2022, 12, 31, 9, 0), 7, CUTOFF);
+        TrafficHourlyRollup existing = new TrafficHourlyRollup(LocalDateTime.of(2022, 12, 31, 9, 0));
+        existing.add(3);
+
+        when(trafficDataRepository.findByTimestampLessThanOrderByTimestampAsc(eq(CUTOFF), any(Pageable.class)))
+                .thenReturn(List.of(first, second), List.of(third), List.of());
+        when(trafficHourlyRollupRepository.findByHourStartIn(any()))
+                .thenReturn(List.of(), List.of(existing));
+
+        long compacted = job.compactExpiredData();
+
+        assertEquals(3, compacted);
+        ArgumentCaptor<Iterable<TrafficHourlyRollup>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(trafficHourlyRollupRepository, times(2)).saveAll(saved.capture());
+        List<TrafficHourlyRollup> rollups = new ArrayList<>();
+        saved.getAllValues().forEach(batch -> batch.forEach(rollups::add));
+        Map<LocalDateTime, TrafficHourlyRollup> byHour = rollups.stream()
+                .collect(Collectors.toMap(TrafficHourlyRollup::getHourStart, Function.identity()));
+
+        TrafficHourlyRollup eight = byHour.get(LocalDateTime.of(2022, 12, 31, 8, 0));
+        assertEquals(2, eight.getRecordCount());
+        assertEquals(14L, eight.getTotalCars());
+        assertEquals(4, eight.getMinCars());
+        assertEquals(10, eight.getMaxCars());
+        TrafficHourlyRollup nine = byHour.get(LocalDateTime.of(2022, 12, 31, 9, 0));
+        assertSame(existing, nine);
+        assertEquals(2, nine.getRecordCount());
+        assertEquals(10L, nine.getTotalCars());
+
+        verify(trafficDataRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(trafficDataRepository).deleteAllByIdInBatch(List.of(3L));
+        ArgumentCaptor<TrafficDataCompactedEvent> events = ArgumentCaptor.forClass(TrafficDataCompactedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(TrafficSample.of(first), TrafficSample.of(second)), events.getAllValues().get(0).samples());
+        assertEquals(List.of(TrafficSample.of(third)), events.getAllValues().get(1).samples());
+        assertEquals(3.0, meterRegistry.get("traffic.retention.rows.compacted").counter().count());
+        assertEquals(2, meterRegistry.get("traffic.retention.batch").timer().count());
+        assertEquals(2, trafficDataVersion.current());
+    }
+
+    @Test
+    void compactExpiredData_WithNothingExpired_ShouldNotWrite() {
+        when(trafficDataRepository.findByTimestampLessThanOrderByTimestampAsc(eq(CUTOFF), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, job.compactExpiredData());
+        verifyNoInteractions(trafficHourlyRollupRepository);
+        verify(trafficDataRepository, never()).deleteAllByIdInBatch(any());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(0, trafficDataVersion.current());
+    }
+}
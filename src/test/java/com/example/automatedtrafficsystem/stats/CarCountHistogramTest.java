@@ -0,0 +1,68 @@
+package com.example.automatedtrafficsystem.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarCountHistogramTest {
+
+    @Test
+    void valueAtQuantile_WithSmallValues_ShouldBeExact() {
+        CarCountHistogram histogram = new CarCountHistogram();
+        for (int value = 1; value <= 50; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(50, histogram.getTotalCount());
+        assertEquals(25, histogram.valueAtQuantile(0.50));
+        assertEquals(45, histogram.valueAtQuantile(0.90));
+        assertEquals(50, histogram.valueAtQuantile(0.99));
+        assertEquals(1, histogram.getMin());
+        assertEquals(50, histogram.getMax());
+        assertEquals(25.5, histogram.getMean(), 0.0001);
+    }
+
+    @Test
+    void valueAtQuantile_WithLargeValues_ShouldStayWithinRelativeError() {
+        CarCountHistogram histogram = new CarCountHistogram();
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(9_000, histogram.valueAtQuantile(0.90), 9_000 / 32.0);
+        assertEquals(9_900, histogram.valueAtQuantile(0.99), 9_900 / 32.0);
+    }
+
+    @Test
+    void merge_ShouldMatchSingleHistogramOverSameValues() {
+        CarCountHistogram combined = new CarCountHistogram();
+        CarCountHistogram first = new CarCountHistogram();
+        CarCountHistogram second = new CarCountHistogram();
+        for (int value = 0; value < 500; value++) {
+            combined.record(value);
+            (value % 2 == 0 ? first : second).record(value);
+        }
+
+        first.merge(second);
+
+        assertEquals(combined.getTotalCount(), first.getTotalCount());
+        assertEquals(combined.getSum(), first.getSum());
+        assertEquals(combined.valueAtQuantile(0.50), first.valueAtQuantile(0.50));
+        assertEquals(combined.valueAtQuantile(0.99), first.valueAtQuantile(0.99));
+    }
+
+    @Test
+    void bucketIndex_ShouldBeContinuousAcrossExactLimit() {
+        assertEquals(63, CarCountHistogram.bucketIndex(63));
+        assertEquals(64, CarCountHistogram.bucketIndex(64));
+        assertEquals(64, CarCountHistogram.bucketIndex(65));
+        assertEquals(95, CarCountHistogram.bucketIndex(127));
+        assertEquals(96, CarCountHistogram.bucketIndex(128));
+        assertEquals(128, CarCountHistogram.bucketLowerBound(96));
+    }
+
+    @Test
+    void record_WithNegativeValue_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new CarCountHistogram().record(-1));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.automatedtrafficsystem.stats;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataCompactedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyTrafficIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void getPercentileStatistics_ShouldGroupByHourAndDayOfWeek() {
+        DailyTrafficIndex index = new DailyTrafficIndex();
+        index.record(new TrafficSample(MONDAY.atTime(8, 0), 10));
+        index.record(new TrafficSample(MONDAY.atTime(8, 30), 30));
+        index.record(new TrafficSample(MONDAY.plusDays(1).atTime(8, 0), 20));
+        index.record(new TrafficSample(MONDAY.plusDays(1).atTime(17, 0), 40));
+
+        TrafficPercentileStatistics stats = index.getPercentileStatistics(null, null);
+
+        assertEquals(4, stats.overall().count());
+        assertEquals(3, stats.byHourOfDay().get("08:00").count());
+        assertEquals(20, stats.byHourOfDay().get("08:00").p50());
+        assertEquals(40, stats.byHourOfDay().get("17:00").max());
+        assertEquals(2, stats.byDayOfWeek().get(DayOfWeek.MONDAY).count());
+        assertEquals(2, stats.byDayOfWeek().get(DayOfWeek.TUESDAY).count());
+        assertFalse(stats.byDayOfWeek().containsKey(DayOfWeek.WEDNESDAY));
+    }
+
+    @Test
+    void getPercentileStatistics_WithRange_ShouldOnlyMergeDaysInRange() {
+        DailyTrafficIndex index = new DailyTrafficIndex();
+        for (int day = 0; day < 10; day++) {
+            index.record(new TrafficSample(MONDAY.plusDays(day).atTime(12, 0), day));
+        }
+
+        TrafficPercentileStatistics stats = index.getPercentileStatistics(MONDAY.plusDays(2), MONDAY.plusDays(4));
+
+        assertEquals(3, stats.overall().count());
+        assertEquals(2, stats.overall().min());
+        assertEquals(4, stats.overall().max());
+    }
+
+    @Test
+    void onTrafficDataIngested_WithReplayedDuplicate_ShouldNotDoubleCount() {
+        DailyTrafficIndex index = new DailyTrafficIndex();
+        LocalDateTime timestamp = MONDAY.atTime(9, 30);
+        TrafficSample sample = new TrafficSample(timestamp, 15);
+
+        index.onTrafficDataIngested(new TrafficDataIngestedEvent(List.of(sample), false));
+        index.onTrafficDataIngested(TrafficDataIngestedEvent.replay(List.of(sample)));
+
+        assertEquals(1, index.getPercentileStatistics(null, null).overall().count());
+    }
+
+    @Test
+    void record_WithTimestampsBetweenSlotBoundaries_ShouldKeepDistinctRecordsAndDropDuplicates() {
+        DailyTrafficIndex index = new DailyTrafficIndex();
+        index.record(new TrafficSample(MONDAY.atTime(9, 0), 10));
+        index.record(new TrafficSample(MONDAY.atTime(9, 10), 20));
+        index.record(new TrafficSample(MONDAY.atTime(9, 20), 30));
+        index.record(new TrafficSample(MONDAY.atTime(9, 10), 20));
+        index.record(new TrafficSample(MONDAY.atTime(9, 0), 10));
+
+        TrafficPercentileStatistics stats = index.getPercentileStatistics(null, null);
+        TrafficHeatmap heatmap = index.getHeatmap(null, null);
+
+        assertEquals(3, stats.byHourOfDay().get("09:00").count());
+        assertEquals(3, stats.byDayOfWeek().get(DayOfWeek.MONDAY).count());
+        assertEquals(60, heatmap.sums()[0][18]);
+        assertEquals(3, heatmap.counts()[0][18]);
+    }
+
+    @Test
+    void onTrafficDataCompacted_ShouldDropCompactedRecords() {
+        DailyTrafficIndex index = new DailyTrafficIndex();
+        TrafficSample compacted = new TrafficSample(MONDAY.atTime(8, 0), 10);
+        TrafficSample offSlot = new TrafficSample(MONDAY.atTime(8, 10), 90);
+        index.record(compacted);
+        index.record(offSlot);
+        index.record(new TrafficSample(MONDAY.atTime(8, 30), 30));
+        index.record(new TrafficSample(MONDAY.plusDays(1).atTime(9, 0), 20));
+
+        index.onTrafficDataCompacted(new TrafficDataCompactedEvent(List.of(compacted, offSlot)));
+        index.onTrafficDataCompacted(new TrafficDataCompactedEvent(List.of(
+                new TrafficSample(MONDAY.plusDays(1).atTime(9, 0), 20))));
+
+        TrafficPercentileStatistics stats = index.getPercentileStatistics(null, null);
+        TrafficHeatmap heatmap = index.getHeatmap(null, null);
+        assertEquals(1, stats.overall().count());
+        assertEquals(30, stats.byHourOfDay().get("08:00").max());
+        assertFalse(stats.byHourOfDay().containsKey("09:00"));
+        assertFalse(stats.byDayOfWeek().containsKey(DayOfWeek.TUESDAY));
+        assertEquals(0, heatmap.counts()[0][16]);
+        assertEquals(30, heatmap.sums()[0][17]);
+
+        index.record(compacted);
+        assertEquals(2, index.getPercentileStatistics(null, null).overall().count());
+    }
+
+    @Test
+    void getHeatmap_ShouldAggregateByDayOfWeekAndHalfHourSlot() {
+        DailyTrafficIndex index = new DailyTrafficIndex();
+        index.record(new TrafficSample(MONDAY.atTime(8, 30), 10));
+        index.record(new TrafficSample(MONDAY.plusWeeks(1).atTime(8, 30), 30));
+        index.record(new TrafficSample(MONDAY.plusDays(6).atTime(23, 30), 7));
+
+        TrafficHeatmap heatmap = index.getHeatmap(null, null);
+
+        assertEquals(7, heatmap.sums().length);
+        assertEquals(48, heatmap.sums()[0].length);
+        assertEquals("08:30", heatmap.slots().get(17));
+        assertEquals(40, heatmap.sums()[0][17]);
+        assertEquals(2, heatmap.counts()[0][17]);
+        assertEquals(20.0, heatmap.averages()[0][17], 0.0001);
+        assertEquals(7, heatmap.sums()[DayOfWeek.SUNDAY.ordinal()][47]);
+        assertEquals(20.0, heatmap.averageForHour(8), 0.0001);
+        assertFalse(heatmap.hasDataForDay(DayOfWeek.WEDNESDAY));
+    }
+
+    @Test
+    void getHeatmap_WithRange_ShouldExcludeDaysOutsideRange() {
+        DailyTrafficIndex index = new DailyTrafficIndex();
+        index.record(new TrafficSample(MONDAY.atTime(8, 30), 10));
+        index.record(new TrafficSample(MONDAY.plusWeeks(1).atTime(8, 30), 30));
+
+        TrafficHeatmap heatmap = index.getHeatmap(MONDAY.plusDays(1), null);
+
+        assertEquals(30, heatmap.sums()[0][17]);
+        assertEquals(1, heatmap.counts()[0][17]);
+    }
+}
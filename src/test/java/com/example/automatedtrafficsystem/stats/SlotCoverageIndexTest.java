@@ -0,0 +1,163 @@
+package com.example.automatedtrafficsystem.stats;
+
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.service.TrafficDataCompactedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotCoverageIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void getCompleteness_ShouldListMissingSlotsPerDay() {
+        SlotCoverageIndex index = new SlotCoverageIndex();
+        fillDay(index, DAY);
+        fillDay(index, DAY.plusDays(1));
+        index.record(new TrafficSample(DAY.plusDays(2).atTime(0, 0), 5));
+
+        TrafficCompletenessReport report = index.getCompleteness(DAY, DAY.plusDays(2));
+
+        assertEquals(3 * 48, report.expectedSlots());
+        assertEquals(97, report.presentSlots());
+        assertEquals(3, report.days().size());
+        assertEquals(100.0, report.days().get(0).coveragePercent());
+        assertTrue(report.days().get(0).missingSlots().isEmpty());
+        assertEquals(1, report.days().get(2).presentSlots());
+        assertEquals(47, report.days().get(2).missingSlots().size());
+        assertEquals("00:30", report.days().get(2).missingSlots().get(0));
+        assertEquals("23:30", report.days().get(2).missingSlots().get(46));
+    }
+
+    @Test
+    void getCompleteness_WithoutRange_ShouldSpanIndexedDays() {
+        SlotCoverageIndex index = new SlotCoverageIndex();
+        index.record(new TrafficSample(DAY.atTime(12, 0), 5));
+        index.record(new TrafficSample(DAY.plusDays(4).atTime(12, 30), 5));
+
+        TrafficCompletenessReport report = index.getCompleteness(null, null);
+
+        assertEquals(DAY, report.from());
+        assertEquals(DAY.plusDays(4), report.to());
+        assertEquals(5, report.days().size());
+        assertEquals(0, report.days().get(2).presentSlots());
+        assertEquals(List.of("12:00"), report.days().get(4).missingSlots().stream()
+                .filter(slot -> slot.startsWith("12")).toList());
+    }
+
+    @Test
+    void getCompleteness_WithoutRangeOverLongHistory_ShouldCoverMostRecentDays() {
+        SlotCoverageIndex index = new SlotCoverageIndex();
+        LocalDate last = DAY.plusDays(SlotCoverageIndex.MAX_RANGE_DAYS + 100);
+        index.record(new TrafficSample(DAY.atTime(12, 0), 5));
+        index.record(new TrafficSample(last.atTime(12, 0), 5));
+
+        TrafficCompletenessReport report = index.getCompleteness(null, null);
+        TrafficCompletenessReport fromStart = index.getCompleteness(DAY, null);
+
+        assertEquals(last, report.to());
+        assertEquals(last.minusDays(SlotCoverageIndex.MAX_RANGE_DAYS - 1), report.from());
+        assertEquals(SlotCoverageIndex.MAX_RANGE_DAYS, report.days().size());
+        assertEquals(DAY, fromStart.from());
+        assertEquals(DAY.plusDays(SlotCoverageIndex.MAX_RANGE_DAYS - 1), fromStart.to());
+    }
+
+    @Test
+    void getCompleteness_WithSuppliedRangeTooLong_ShouldThrow() {
+        SlotCoverageIndex index = new SlotCoverageIndex();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> index.getCompleteness(DAY, DAY.plusDays(SlotCoverageIndex.MAX_RANGE_DAYS)));
+    }
+
+    @Test
+    void getCompleteness_WithEmptyIndex_ShouldReturnEmptyReport() {
+        TrafficCompletenessReport report = new SlotCoverageIndex().getCompleteness(null, null);
+
+        assertEquals(0, report.expectedSlots());
+        assertTrue(report.days().isEmpty());
+    }
+
+    @Test
+    void add_WhenEveryDayOfContainerIsComplete_ShouldCollapseToFullContainer() {
+        HalfHourSlotBitmap bitmap = new HalfHourSlotBitmap();
+        LocalDate containerStart = LocalDate.ofEpochDay(64 * 300);
+        for (int day = 0; day < 64; day++) {
+            LocalDateTime start = containerStart.plusDays(day).atStartOfDay();
+            for (int slot = 0; slot < 48; slot++) {
+                bitmap.add(start.plusMinutes(30L * slot));
+            }
+        }
+
+        assertEquals(1, bitmap.containerCount());
+        assertTrue(bitmap.isFullContainer(containerStart));
+        assertEquals(HalfHourSlotBitmap.FULL_DAY, bitmap.slotsOf(containerStart.plusDays(10)));
+        assertEquals(containerStart.plusDays(63), bitmap.lastDay().orElseThrow());
+    }
+
+    @Test
+    void onTrafficDataCompacted_ShouldClearSlotsAndSplitFullContainer() {
+        SlotCoverageIndex index = new SlotCoverageIndex();
+        LocalDate containerStart = LocalDate.ofEpochDay(64 * 300);
+        for (int day = 0; day < 64; day++) {
+            fillDay(index, containerStart.plusDays(day));
+        }
+        LocalDateTime compacted = containerStart.plusDays(5).atTime(7, 30);
+
+        index.onTrafficDataCompacted(new TrafficDataCompactedEvent(List.of(new TrafficSample(compacted, 10))));
+
+        TrafficCompletenessReport report = index.getCompleteness(containerStart.plusDays(4), containerStart.plusDays(6));
+        assertEquals(3 * 48 - 1, report.presentSlots());
+        assertEquals(List.of("07:30"), report.days().get(1).missingSlots());
+        assertTrue(report.days().get(0).missingSlots().isEmpty());
+    }
+
+    @Test
+    void getCompleteness_WithCompactedHours_ShouldStartAtFirstFullyRawDay() {
+        SlotCoverageIndex index = new SlotCoverageIndex();
+        for (int day = 0; day < 5; day++) {
+            fillDay(index, DAY.plusDays(day));
+        }
+        LocalDateTime compactedBefore = DAY.plusDays(1).atTime(6, 0);
+        List<TrafficSample> compacted = new ArrayList<>();
+        for (LocalDateTime slot = DAY.atStartOfDay(); slot.isBefore(compactedBefore); slot = slot.plusMinutes(30)) {
+            compacted.add(new TrafficSample(slot, 10));
+        }
+        index.onTrafficDataCompacted(new TrafficDataCompactedEvent(compacted));
+
+        TrafficCompletenessReport report = index.getCompleteness(null, null, compactedBefore);
+        TrafficCompletenessReport compactedOnly = index.getCompleteness(DAY, DAY.plusDays(1), compactedBefore);
+
+        assertEquals(DAY.plusDays(2), report.from());
+        assertEquals(3, report.days().size());
+        assertEquals(100.0, report.coveragePercent());
+        assertEquals(compactedBefore, report.compactedBefore());
+        assertTrue(compactedOnly.days().isEmpty());
+        assertEquals(0, compactedOnly.expectedSlots());
+    }
+
+    @Test
+    void remove_WhenContainerEmpties_ShouldDropIt() {
+        HalfHourSlotBitmap bitmap = new HalfHourSlotBitmap();
+        LocalDateTime timestamp = DAY.atTime(8, 0);
+        bitmap.add(DAY.plusDays(200).atTime(8, 0));
+        bitmap.add(timestamp);
+
+        bitmap.remove(timestamp);
+
+        assertEquals(1, bitmap.containerCount());
+        assertEquals(DAY.plusDays(200), bitmap.firstDay().orElseThrow());
+    }
+
+    private static void fillDay(SlotCoverageIndex index, LocalDate date) {
+        for (int slot = 0; slot < 48; slot++) {
+            index.record(new TrafficSample(date.atStartOfDay().plusMinutes(30L * slot), 10));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.automatedtrafficsystem.stats;
+
+import com.example.automatedtrafficsystem.model.TrafficAnomaly;
+import com.example.automatedtrafficsystem.model.TrafficSample;
+import com.example.automatedtrafficsystem.repository.TrafficAnomalyRepository;
+import com.example.automatedtrafficsystem.service.TrafficDataIngestedEvent;
+import com.example.automatedtrafficsystem.service.TrafficDataVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrafficAnomalyDetectorTest {
+
+    // A Monday, so every sample below falls in the Monday 08:00 slot.
+    private static final LocalDateTime MONDAY_EIGHT = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Mock
+    private TrafficAnomalyRepository trafficAnomalyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TrafficDataVersion trafficDataVersion = new TrafficDataVersion();
+    private SimpleMeterRegistry meterRegistry;
+    private TrafficAnomalyDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T00:00:00Z"), ZoneOffset.UTC);
+        detector = new TrafficAnomalyDetector(trafficAnomalyRepository, transactionManager, trafficDataVersion,
+                meterRegistry, clock, 0.1, 4.0, 4);
+    }
+
+    @Test
+    void record_WithSpikeAfterWarmup_ShouldFlagSpike() {
+        detector.record(weeksOf(20, 22, 18, 21, 19, 20, 21, 19), true);
+
+        List<TrafficAnomaly> anomalies = detector.record(List.of(sample(8, 90)), true);
+
+        assertEquals(1, anomalies.size());
+        TrafficAnomaly spike = anomalies.get(0);
+        assertEquals(TrafficAnomaly.Type.SPIKE, spike.getType());
+        assertEquals(MONDAY_EIGHT.plusWeeks(8), spike.getTimestamp());
+        assertEquals(90, spike.getCarCount());
+        assertEquals(20.0, spike.getExpectedCount(), 1.0);
+        assertTrue(spike.getScore() >= 4.0);
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), spike.getDetectedAt());
+        assertEquals(1.0, anomalies("SPIKE"));
+        assertEquals(0.0, anomalies("DROP"));
+    }
+
+    @Test
+    void record_WithDropAfterWarmup_ShouldFlagDrop() {
+        detector.record(weeksOf(40, 42, 38, 41, 39, 40), true);
+
+        List<TrafficAnomaly> anomalies = detector.record(List.of(sample(6, 2)), true);
+
+        assertEquals(1, anomalies.size());
+        assertEquals(TrafficAnomaly.Type.DROP, anomalies.get(0).getType());
+        assertTrue(anomalies.get(0).getScore() <= -4.0);
+        assertEquals(1.0, anomalies("DROP"));
+    }
+
+    @Test
+    void record_DuringWarmupOrReplay_ShouldNotFlag() {
+        assertTrue(detector.record(weeksOf(20, 21, 90, 20), true).isEmpty());
+
+        assertTrue(detector.record(weeksOf(20, 21, 20, 19, 20, 21, 90), false).isEmpty());
+        assertEquals(0.0, anomalies("SPIKE"));
+    }
+
+    @Test
+    void record_WithSmallChangeOnSteadySlot_ShouldNotFlag() {
+        detector.record(weeksOf(9, 9, 9, 9, 9, 9, 9, 9), true);
+
+        assertTrue(detector.record(List.of(sample(8, 16)), true).isEmpty());
+    }
+
+    @Test
+    void record_WithRepeatedOutliers_ShouldKeepFlaggingThem() {
+        detector.record(weeksOf(20, 22, 18, 21, 19, 20, 21, 19), true);
+
+        assertEquals(1, detector.record(List.of(sample(8, 200)), true).size());
+        assertEquals(1, detector.record(List.of(sample(9, 90)), true).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onTrafficDataIngested_ShouldStoreOnlyWhenSomethingWasFlagged() {
+        detector.onTrafficDataIngested(TrafficDataIngestedEvent.replay(weeksOf(20, 22, 18, 21, 19, 20, 21, 19)));
+        verifyNoInteractions(trafficAnomalyRepository);
+
+        detector.onTrafficDataIngested(new TrafficDataIngestedEvent(List.of(sample(8, 90)), false));
+
+        ArgumentCaptor<Iterable<TrafficAnomaly>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(trafficAnomalyRepository).saveAll(saved.capture());
+        assertEquals(90, saved.getValue().iterator().next().getCarCount());
+        assertEquals(1, trafficDataVersion.current());
+    }
+
+    @Test
+    void onTrafficDataIngested_WhenStoreFails_ShouldNotPropagate() {
+        detector.record(weeksOf(20, 22, 18, 21, 19, 20, 21, 19), true);
+        when(trafficAnomalyRepository.saveAll(any())).thenThrow(new IllegalStateException("database down"));
+
+        assertDoesNotThrow(() -> detector.onTrafficDataIngested(
+                new TrafficDataIngestedEvent(List.of(sample(8, 90)), false)));
+        assertEquals(1.0, anomalies("SPIKE"));
+        assertEquals(0, trafficDataVersion.current());
+    }
+
+    private static List<TrafficSample> weeksOf(int... carCounts) {
+        List<TrafficSample> samples = new ArrayList<>();
+        for (int week = 0; week < carCounts.length; week++) {
+            samples.add(sample(week, carCounts[week]));
+        }
+        return samples;
+    }
+
+    private static TrafficSample sample(int week, int carCount) {
+        return new TrafficSample(MONDAY_EIGHT.plusWeeks(week), carCount);
+    }
+
+    private double anomalies(String type) {
+        return meterRegistry.get("traffic.anomalies").tag("type", type).counter().count();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.automatedtrafficsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LargestTriangleThreeBucketsTest {
+
+    @Test
+    void select_WithFewerPointsThanMax_ShouldKeepAll() {
+        double[] x = {0, 1, 2};
+        double[] y = {5, 7, 6};
+
+        assertArrayEquals(new int[]{0, 1, 2}, LargestTriangleThreeBuckets.select(x, y, 10));
+    }
+
+    @Test
+    void select_ShouldKeepEndpointsAndExtremes() {
+        int n = 1_000;
+        double[] x = IntStream.range(0, n).asDoubleStream().toArray();
+        double[] y = IntStream.range(0, n).mapToDouble(i -> i == 400 ? 500 : i == 700 ? -300 : 10).toArray();
+
+        int[] selected = LargestTriangleThreeBuckets.select(x, y, 20);
+
+        assertEquals(20, selected.length);
+        assertEquals(0, selected[0]);
+        assertEquals(n - 1, selected[19]);
+        assertTrue(IntStream.of(selected).anyMatch(i -> i == 400));
+        assertTrue(IntStream.of(selected).anyMatch(i -> i == 700));
+        for (int i = 1; i < selected.length; i++) {
+            assertTrue(selected[i] > selected[i - 1]);
+        }
+    }
+
+    @Test
+    void select_WithInvalidArguments_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LargestTriangleThreeBuckets.select(new double[3], new double[2], 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> LargestTriangleThreeBuckets.select(new double[10], new double[10], 2));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.automatedtrafficsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_WithConcurrentEqualKeys_ShouldRunComputationOnce() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("week", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "analysis";
+            }), executor));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 7; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("week", () -> {
+                    computations.incrementAndGet();
+                    return "duplicate";
+                }), executor));
+            }
+            release.countDown();
+
+            for (CompletableFuture<String> result : results) {
+                assertEquals("analysis", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldRunAgain() {
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.execute("week", () -> "run " + computations.incrementAndGet());
+        String second = singleFlight.execute("week", () -> "run " + computations.incrementAndGet());
+
+        assertEquals("run 2", second);
+    }
+
+    @Test
+    void execute_WhenComputationFails_ShouldRethrowAndForgetKey() {
+        IllegalStateException failure = new IllegalStateException("upstream down");
+
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("week", () -> {
+                    throw failure;
+                })));
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals("ok", singleFlight.execute("week", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}